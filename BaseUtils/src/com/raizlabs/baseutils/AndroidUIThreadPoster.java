@@ -0,0 +1,22 @@
+package com.raizlabs.baseutils;
+
+import com.raizlabs.concurrent.UIThread;
+
+/**
+ * {@link UIThread.Poster} which posts to the Android UI thread via
+ * {@link ThreadingUtils}. {@link ThreadingUtils} installs this as the
+ * {@link UIThread} default when it is loaded, and {@link UIThread} otherwise
+ * looks it up by name, so it must be kept when minifying.
+ */
+public class AndroidUIThreadPoster implements UIThread.Poster {
+
+	@Override
+	public boolean isOnUIThread() {
+		return ThreadingUtils.isOnUIThread();
+	}
+
+	@Override
+	public void post(Runnable action) {
+		ThreadingUtils.getUIHandler().post(action);
+	}
+}
@@ -0,0 +1,180 @@
+package com.raizlabs.baseutils;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.view.Choreographer;
+
+/**
+ * Class which runs {@link Runnable}s on the UI thread in batches. Actions may
+ * be posted from any thread and are collected in a lock-free queue, which is
+ * drained by a single message on the UI thread instead of one message per
+ * action.
+ * <br><br>
+ * Each drain runs actions until the frame budget is used up, then defers the
+ * remaining actions to the next frame so that a flood of small updates does
+ * not cause frames to be dropped. Actions are always run in the order they
+ * were posted.
+ */
+public class BatchedUIDispatcher {
+
+	/**
+	 * The default time, in milliseconds, which may be spent running actions
+	 * per frame.
+	 */
+	public static final long DEFAULT_FRAME_BUDGET_MILLIS = 8;
+
+	/**
+	 * How long to wait for the next frame on versions which don't have a
+	 * {@link Choreographer}.
+	 */
+	private static final long FALLBACK_FRAME_DELAY_MILLIS = 16;
+
+	private final Handler handler;
+	private final ConcurrentLinkedQueue<Runnable> queue;
+	private final AtomicBoolean drainScheduled;
+	private volatile long frameBudgetNanos;
+	private FrameScheduler frameScheduler;
+
+	private final Runnable drainRunnable = new Runnable() {
+		@Override
+		public void run() {
+			drain();
+		}
+	};
+
+	/**
+	 * Constructs a {@link BatchedUIDispatcher} with the default frame budget.
+	 * @param uiHandler A {@link Handler} bound to the UI thread.
+	 */
+	public BatchedUIDispatcher(Handler uiHandler) {
+		this(uiHandler, DEFAULT_FRAME_BUDGET_MILLIS);
+	}
+
+	/**
+	 * Constructs a {@link BatchedUIDispatcher}.
+	 * @param uiHandler A {@link Handler} bound to the UI thread.
+	 * @param frameBudgetMillis The time, in milliseconds, which may be spent
+	 * running actions per frame.
+	 */
+	public BatchedUIDispatcher(Handler uiHandler, long frameBudgetMillis) {
+		this.handler = uiHandler;
+		this.queue = new ConcurrentLinkedQueue<Runnable>();
+		this.drainScheduled = new AtomicBoolean(false);
+		setFrameBudget(frameBudgetMillis);
+	}
+
+	/**
+	 * Sets the time which may be spent running actions per frame. At least one
+	 * action is always run per frame, regardless of the budget.
+	 * @param frameBudgetMillis The budget in milliseconds.
+	 */
+	public void setFrameBudget(long frameBudgetMillis) {
+		if (frameBudgetMillis < 0) {
+			throw new IllegalArgumentException("Frame budget must not be negative");
+		}
+		this.frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(frameBudgetMillis);
+	}
+
+	/**
+	 * @return The time, in milliseconds, which may be spent running actions
+	 * per frame.
+	 */
+	public long getFrameBudget() {
+		return TimeUnit.NANOSECONDS.toMillis(frameBudgetNanos);
+	}
+
+	/**
+	 * Queues the given {@link Runnable} to be run on the UI thread in the next
+	 * batch. This may be called from any thread.
+	 * @param action The {@link Runnable} to run.
+	 */
+	public void post(Runnable action) {
+		queue.offer(action);
+		if (drainScheduled.compareAndSet(false, true)) {
+			handler.post(drainRunnable);
+		}
+	}
+
+	/**
+	 * Removes the given {@link Runnable} if it has been posted and not yet
+	 * run.
+	 * @param action The {@link Runnable} to remove.
+	 * @return True if the action was removed.
+	 */
+	public boolean remove(Runnable action) {
+		return queue.remove(action);
+	}
+
+	/**
+	 * @return The number of actions which are waiting to be run. This is
+	 * only an estimate, and takes time proportional to the number of actions.
+	 */
+	public int getPendingCount() {
+		return queue.size();
+	}
+
+	private void drain() {
+		final long deadline = System.nanoTime() + frameBudgetNanos;
+		boolean outOfTime = false;
+		try {
+			Runnable action;
+			while ((action = queue.poll()) != null) {
+				action.run();
+				if (System.nanoTime() - deadline >= 0) {
+					outOfTime = true;
+					break;
+				}
+			}
+		} finally {
+			if (outOfTime && !queue.isEmpty()) {
+				// Leave the flag set and pick up where we left off next frame
+				scheduleNextFrame();
+			} else {
+				drainScheduled.set(false);
+				// Something may have been queued after we stopped polling but
+				// before we cleared the flag, in which case nobody scheduled it
+				if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+					handler.post(drainRunnable);
+				}
+			}
+		}
+	}
+
+	private void scheduleNextFrame() {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			// Only referenced on versions which have the Choreographer so the
+			// class isn't loaded otherwise
+			if (frameScheduler == null) frameScheduler = new FrameScheduler(drainRunnable);
+			frameScheduler.schedule();
+		} else {
+			handler.postDelayed(drainRunnable, FALLBACK_FRAME_DELAY_MILLIS);
+		}
+	}
+
+	/**
+	 * Runs a {@link Runnable} at the start of the next frame via the
+	 * {@link Choreographer}. Must be used on the UI thread.
+	 */
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static class FrameScheduler implements Choreographer.FrameCallback {
+		private final Runnable action;
+
+		FrameScheduler(Runnable action) {
+			this.action = action;
+		}
+
+		void schedule() {
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			action.run();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.raizlabs.baseutils;
+
+import java.util.HashMap;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+/**
+ * Class which posts {@link Runnable}s to a {@link Handler} under a key, so
+ * that repeated posts of the same logical update are coalesced instead of
+ * each being run. Only one action is ever pending per key, and posting a new
+ * action under a pending key replaces the pending action.
+ * <br><br>
+ * Keys are compared using {@link Object#equals(Object)}, and are only
+ * referenced while an action is pending for them, except for keys which have
+ * been throttled. Those keys are remembered until {@link #cancel(Object)} is
+ * called for them. This class is thread safe.
+ */
+public class KeyedPoster {
+
+	private final Handler handler;
+	private final HashMap<Object, PendingAction> pendingActions;
+	private final HashMap<Object, Long> lastThrottledRunTimes;
+
+	/**
+	 * Constructs a {@link KeyedPoster} which posts to the given
+	 * {@link Handler}.
+	 * @param handler The {@link Handler} to post actions to.
+	 */
+	public KeyedPoster(Handler handler) {
+		this.handler = handler;
+		this.pendingActions = new HashMap<Object, PendingAction>();
+		this.lastThrottledRunTimes = new HashMap<Object, Long>();
+	}
+
+	/**
+	 * Posts the given action under the given key. If an action is already
+	 * pending for the key, it is replaced by the given action, which will run
+	 * when the pending action would have.
+	 * @param key The key which identifies the update.
+	 * @param action The action to run.
+	 * @return True if the action was posted, or false if it replaced a pending
+	 * action.
+	 */
+	public boolean post(Object key, Runnable action) {
+		final PendingAction pending;
+		synchronized (pendingActions) {
+			PendingAction existing = pendingActions.get(key);
+			if (existing != null) {
+				existing.action = action;
+				return false;
+			}
+			pending = new PendingAction(key, action, false);
+			pendingActions.put(key, pending);
+		}
+		handler.post(pending);
+		return true;
+	}
+
+	/**
+	 * Posts the given action under the given key after the given delay,
+	 * cancelling any action which is pending for the key. Calling this
+	 * repeatedly therefore only runs the last action, once the calls stop
+	 * for the length of the delay.
+	 * @param key The key which identifies the update.
+	 * @param delayMillis The delay in milliseconds.
+	 * @param action The action to run.
+	 */
+	public void debounce(Object key, long delayMillis, Runnable action) {
+		final PendingAction pending = new PendingAction(key, action, false);
+		final PendingAction existing;
+		synchronized (pendingActions) {
+			existing = pendingActions.put(key, pending);
+		}
+		if (existing != null) handler.removeCallbacks(existing);
+		handler.postDelayed(pending, delayMillis);
+	}
+
+	/**
+	 * Posts the given action under the given key such that actions for the
+	 * key run at most once per the given interval. If the key hasn't run
+	 * within the interval, the action is posted immediately. Otherwise, it is
+	 * posted to run once the interval has elapsed, replacing any action which
+	 * is already waiting.
+	 * @param key The key which identifies the update.
+	 * @param intervalMillis The minimum time between runs, in milliseconds.
+	 * @param action The action to run.
+	 */
+	public void throttle(Object key, long intervalMillis, Runnable action) {
+		final PendingAction pending;
+		final long delay;
+		synchronized (pendingActions) {
+			PendingAction existing = pendingActions.get(key);
+			if (existing != null) {
+				existing.action = action;
+				return;
+			}
+
+			Long lastRunTime = lastThrottledRunTimes.get(key);
+			if (lastRunTime != null) {
+				delay = java.lang.Math.max(0, lastRunTime + intervalMillis - SystemClock.uptimeMillis());
+			} else {
+				delay = 0;
+			}
+			pending = new PendingAction(key, action, true);
+			pendingActions.put(key, pending);
+		}
+
+		if (delay > 0) {
+			handler.postDelayed(pending, delay);
+		} else {
+			handler.post(pending);
+		}
+	}
+
+	/**
+	 * Cancels any action pending for the given key and forgets when it was
+	 * last throttled.
+	 * @param key The key to cancel.
+	 * @return True if an action was pending and has been cancelled.
+	 */
+	public boolean cancel(Object key) {
+		final PendingAction existing;
+		synchronized (pendingActions) {
+			existing = pendingActions.remove(key);
+			lastThrottledRunTimes.remove(key);
+		}
+		if (existing != null) {
+			handler.removeCallbacks(existing);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @param key The key to check.
+	 * @return True if an action is pending for the given key.
+	 */
+	public boolean isPending(Object key) {
+		synchronized (pendingActions) {
+			return pendingActions.containsKey(key);
+		}
+	}
+
+	private class PendingAction implements Runnable {
+		final Object key;
+		final boolean throttled;
+		Runnable action;
+
+		PendingAction(Object key, Runnable action, boolean throttled) {
+			this.key = key;
+			this.action = action;
+			this.throttled = throttled;
+		}
+
+		@Override
+		public void run() {
+			final Runnable toRun;
+			synchronized (pendingActions) {
+				// We may have been cancelled or superseded after we were posted
+				if (pendingActions.get(key) != this) return;
+				pendingActions.remove(key);
+				if (throttled) {
+					lastThrottledRunTimes.put(key, SystemClock.uptimeMillis());
+				}
+				toRun = action;
+			}
+			toRun.run();
+		}
+	}
+}
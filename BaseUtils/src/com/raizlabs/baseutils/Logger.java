@@ -1,18 +1,43 @@
 package com.raizlabs.baseutils;
 
-import android.annotation.TargetApi;
-import android.os.Build;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import android.util.Log;
 
+import com.raizlabs.functions.Provider;
+import com.raizlabs.logging.LogSink;
+import com.raizlabs.logging.LogcatSink;
+
 /**
- * Class which logs to the built in Android {@link Log}, but provides a
- * mechanism to disable logging at different levels.
+ * Class which logs to the built in Android {@link Log}, or another
+ * {@link LogSink}, but provides a mechanism to disable logging at different
+ * levels.
+ * <br><br>
+ * The overloads which take a format string and arguments, or a
+ * {@link Provider} of the message, only build the message if the level is
+ * enabled. Note that an argument which is a {@link Throwable} will select
+ * the overload which logs the {@link Throwable} instead.
+ * <br><br>
+ * The global levels may be overridden for individual tags, and noisy tags
+ * may be sampled or rate limited. See {@link #setTagLogLevel(String, int)},
+ * {@link #setTagSampling(String, int)}, and
+ * {@link #setTagRateLimit(String, int)}.
  * 
  * @author Dylan James
  */
 public class Logger {
 	
-	private static int logFlags = LogLevel.WARNINGS | LogLevel.ERRORS;
+	private static volatile int logFlags = LogLevel.WARNINGS | LogLevel.ERRORS;
+	private static volatile LogSink sink = LogcatSink.getInstance();
+	/**
+	 * The rules for tags with custom settings. This map is never modified once
+	 * published, so it may be read without locking. It is null if there are
+	 * no rules so the common case is a single volatile read.
+	 */
+	private static volatile HashMap<String, TagRule> tagRules = null;
+	
 	/**
 	 * Sets the log levels which will be logged to the Android {@link Log}.
 	 * @param logLevel A bitmask of the desired levels, using values defined in
@@ -20,86 +45,519 @@ public class Logger {
 	 */
 	public static void setLogLevel(int logLevel) { logFlags = logLevel; }
 	
+	/**
+	 * Overrides the log levels for messages with the given tag, ignoring the
+	 * global levels set by {@link #setLogLevel(int)}.
+	 * @param tag The tag to override the levels of.
+	 * @param logLevel A bitmask of the desired levels, using values defined in
+	 * {@link LogLevel}.
+	 */
+	public static void setTagLogLevel(String tag, int logLevel) {
+		synchronized (Logger.class) {
+			TagRule current = getTagRule(tag);
+			updateTagRule(tag, new TagRule(logLevel, current.sampleInterval, current.maxPerSecond));
+		}
+	}
+	
+	/**
+	 * Samples the messages with the given tag, so that only one of every
+	 * given number of enabled messages is logged. This applies to messages of
+	 * every level with the tag.
+	 * @param tag The tag to sample.
+	 * @param interval The number of messages per logged message. One logs
+	 * every message.
+	 */
+	public static void setTagSampling(String tag, int interval) {
+		if (interval < 1) {
+			throw new IllegalArgumentException("Sampling interval must be at least 1");
+		}
+		synchronized (Logger.class) {
+			TagRule current = getTagRule(tag);
+			updateTagRule(tag, new TagRule(current.logFlags, interval, current.maxPerSecond));
+		}
+	}
+	
+	/**
+	 * Limits the number of messages with the given tag which will be logged
+	 * per second. Messages beyond the limit are counted, and the count is
+	 * logged with the next message which is allowed through. This applies to
+	 * messages of every level with the tag, after any sampling.
+	 * @param tag The tag to limit.
+	 * @param maxPerSecond The maximum number of messages to log per second, or
+	 * zero for no limit.
+	 */
+	public static void setTagRateLimit(String tag, int maxPerSecond) {
+		if (maxPerSecond < 0) {
+			throw new IllegalArgumentException("Rate limit must not be negative");
+		}
+		synchronized (Logger.class) {
+			TagRule current = getTagRule(tag);
+			updateTagRule(tag, new TagRule(current.logFlags, current.sampleInterval, maxPerSecond));
+		}
+	}
+	
+	/**
+	 * Removes any level override, sampling, and rate limit for the given tag.
+	 * @param tag The tag to clear the settings of.
+	 */
+	public static void clearTagSettings(String tag) {
+		synchronized (Logger.class) {
+			updateTagRule(tag, null);
+		}
+	}
+	
+	/**
+	 * Removes the level overrides, sampling, and rate limits for all tags.
+	 */
+	public static void clearAllTagSettings() {
+		synchronized (Logger.class) {
+			tagRules = null;
+		}
+	}
+	
+	private static TagRule getTagRule(String tag) {
+		HashMap<String, TagRule> rules = tagRules;
+		TagRule rule = (rules != null) ? rules.get(tag) : null;
+		return (rule != null) ? rule : TagRule.DEFAULT;
+	}
+	
+	private static void updateTagRule(String tag, TagRule rule) {
+		HashMap<String, TagRule> rules = (tagRules != null) ?
+				new HashMap<String, TagRule>(tagRules) : new HashMap<String, TagRule>();
+		if (rule != null && !rule.isDefault()) {
+			rules.put(tag, rule);
+		} else {
+			rules.remove(tag);
+		}
+		tagRules = rules.isEmpty() ? null : rules;
+	}
+	
+	/**
+	 * Sets the {@link LogSink} which enabled messages are written to. By
+	 * default, this is the {@link LogcatSink}, which writes synchronously to
+	 * the Android {@link Log}. A {@link com.raizlabs.logging.AsyncLogSink}
+	 * may be used to move the writes off of the logging thread.
+	 * @param logSink The {@link LogSink} to write to. If null, the
+	 * {@link LogcatSink} will be used.
+	 */
+	public static void setSink(LogSink logSink) {
+		sink = (logSink != null) ? logSink : LogcatSink.getInstance();
+	}
+	
+	/**
+	 * @return The {@link LogSink} which enabled messages are written to.
+	 */
+	public static LogSink getSink() { return sink; }
+	
+	/**
+	 * Returns true if a message with the given level and tag should be logged,
+	 * consuming a sample and rate limit slot for the tag if it has any.
+	 */
+	private static boolean shouldLog(int level, String tag) {
+		final HashMap<String, TagRule> rules = tagRules;
+		if (rules == null) {
+			return (logFlags & level) != 0;
+		}
+		
+		final TagRule rule = rules.get(tag);
+		if (rule == null) {
+			return (logFlags & level) != 0;
+		}
+		return rule.isLoggable(level) && rule.tryAcquire(tag, level);
+	}
+	
+	private static void log(int level, String tag, String msg, Throwable tr) {
+		sink.log(System.currentTimeMillis(), level, tag, msg, tr);
+	}
+	
 	public static void v(String tag, String msg) {
-		if ((logFlags & LogLevel.VERBOSE) > 0) {
-			Log.v(tag, msg);
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, msg, null);
 		}
 	}
 	
 	public static void v(String tag, String msg, Throwable tr) {
-		if ((logFlags & LogLevel.VERBOSE) > 0) {
-			Log.v(tag, msg, tr);
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, msg, tr);
 		}
 	}
 	
 	public static void d(String tag, String msg) {
-		if ((logFlags & LogLevel.DEBUG) > 0) {
-			Log.d(tag, msg);
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, msg, null);
 		}
 	}
 	
 	public static void d(String tag, String msg, Throwable tr) {
-		if ((logFlags & LogLevel.DEBUG) > 0) {
-			Log.d(tag, msg, tr);
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, msg, tr);
 		}
 	}
 	
 	public static void i(String tag, String msg) {
-		if ((logFlags & LogLevel.INFO) > 0) {
-			Log.i(tag, msg);
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, msg, null);
 		}
 	}
 	
 	public static void i(String tag, String msg, Throwable tr) {
-		if ((logFlags & LogLevel.INFO) > 0) {
-			Log.i(tag, msg, tr);
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, msg, tr);
 		}
 	}
 	
 	public static void w(String tag, String msg) {
-		if ((logFlags & LogLevel.WARNINGS) > 0) {
-			Log.w(tag, msg);
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, msg, null);
 		}
 	}
 	
 	public static void w(String tag, String msg, Throwable tr) {
-		if ((logFlags & LogLevel.WARNINGS) > 0) {
-			Log.w(tag, msg, tr);
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, msg, tr);
 		}
 	}
 	
 	public static void e(String tag, String msg) {
-		if ((logFlags & LogLevel.ERRORS) > 0) {
-			Log.e(tag, msg);
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, msg, null);
 		}
 	}
 	
 	public static void e(String tag, String msg, Throwable tr) {
-		if ((logFlags & LogLevel.ERRORS) > 0) {
-			Log.e(tag, msg, tr);
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, msg, tr);
+		}
+	}
+	
+	/**
+	 * Returns true if messages at the given level will currently be logged.
+	 * This may be used to skip expensive work which is only needed for
+	 * logging.
+	 * @param logLevel The level to check, as defined in {@link LogLevel}.
+	 * @return True if messages at the given level will be logged.
+	 */
+	public static boolean isLoggable(int logLevel) {
+		return (logFlags & logLevel) != 0;
+	}
+	
+	/**
+	 * Returns true if messages with the given tag at the given level will
+	 * currently be logged, taking any override for the tag into account.
+	 * Sampling and rate limits are not considered.
+	 * @param tag The tag to check.
+	 * @param logLevel The level to check, as defined in {@link LogLevel}.
+	 * @return True if messages at the given level will be logged.
+	 */
+	public static boolean isLoggable(String tag, int logLevel) {
+		final HashMap<String, TagRule> rules = tagRules;
+		final TagRule rule = (rules != null) ? rules.get(tag) : null;
+		return (rule != null) ? rule.isLoggable(logLevel) : (logFlags & logLevel) != 0;
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#VERBOSE} level, only formatting it
+	 * via {@link String#format(String, Object...)} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param format The format string of the message.
+	 * @param arg The argument to the format string.
+	 */
+	public static void v(String tag, String format, Object arg) {
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, String.format(format, arg), null);
+		}
+	}
+	
+	public static void v(String tag, String format, Object arg1, Object arg2) {
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, String.format(format, arg1, arg2), null);
+		}
+	}
+	
+	public static void v(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, String.format(format, arg1, arg2, arg3), null);
+		}
+	}
+	
+	public static void v(String tag, String format, Object... args) {
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, String.format(format, args), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#VERBOSE} level, only obtaining it
+	 * from the given {@link Provider} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param message The {@link Provider} of the message.
+	 */
+	public static void v(String tag, Provider<String> message) {
+		if (shouldLog(LogLevel.VERBOSE, tag)) {
+			log(LogLevel.VERBOSE, tag, message.obtainProvided(), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#DEBUG} level, only formatting it
+	 * via {@link String#format(String, Object...)} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param format The format string of the message.
+	 * @param arg The argument to the format string.
+	 */
+	public static void d(String tag, String format, Object arg) {
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, String.format(format, arg), null);
+		}
+	}
+	
+	public static void d(String tag, String format, Object arg1, Object arg2) {
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, String.format(format, arg1, arg2), null);
+		}
+	}
+	
+	public static void d(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, String.format(format, arg1, arg2, arg3), null);
+		}
+	}
+	
+	public static void d(String tag, String format, Object... args) {
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, String.format(format, args), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#DEBUG} level, only obtaining it
+	 * from the given {@link Provider} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param message The {@link Provider} of the message.
+	 */
+	public static void d(String tag, Provider<String> message) {
+		if (shouldLog(LogLevel.DEBUG, tag)) {
+			log(LogLevel.DEBUG, tag, message.obtainProvided(), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#INFO} level, only formatting it
+	 * via {@link String#format(String, Object...)} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param format The format string of the message.
+	 * @param arg The argument to the format string.
+	 */
+	public static void i(String tag, String format, Object arg) {
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, String.format(format, arg), null);
+		}
+	}
+	
+	public static void i(String tag, String format, Object arg1, Object arg2) {
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, String.format(format, arg1, arg2), null);
+		}
+	}
+	
+	public static void i(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, String.format(format, arg1, arg2, arg3), null);
+		}
+	}
+	
+	public static void i(String tag, String format, Object... args) {
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, String.format(format, args), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#INFO} level, only obtaining it
+	 * from the given {@link Provider} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param message The {@link Provider} of the message.
+	 */
+	public static void i(String tag, Provider<String> message) {
+		if (shouldLog(LogLevel.INFO, tag)) {
+			log(LogLevel.INFO, tag, message.obtainProvided(), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#WARNINGS} level, only formatting it
+	 * via {@link String#format(String, Object...)} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param format The format string of the message.
+	 * @param arg The argument to the format string.
+	 */
+	public static void w(String tag, String format, Object arg) {
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, String.format(format, arg), null);
+		}
+	}
+	
+	public static void w(String tag, String format, Object arg1, Object arg2) {
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, String.format(format, arg1, arg2), null);
+		}
+	}
+	
+	public static void w(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, String.format(format, arg1, arg2, arg3), null);
+		}
+	}
+	
+	public static void w(String tag, String format, Object... args) {
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, String.format(format, args), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#WARNINGS} level, only obtaining it
+	 * from the given {@link Provider} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param message The {@link Provider} of the message.
+	 */
+	public static void w(String tag, Provider<String> message) {
+		if (shouldLog(LogLevel.WARNINGS, tag)) {
+			log(LogLevel.WARNINGS, tag, message.obtainProvided(), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#ERRORS} level, only formatting it
+	 * via {@link String#format(String, Object...)} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param format The format string of the message.
+	 * @param arg The argument to the format string.
+	 */
+	public static void e(String tag, String format, Object arg) {
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, String.format(format, arg), null);
+		}
+	}
+	
+	public static void e(String tag, String format, Object arg1, Object arg2) {
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, String.format(format, arg1, arg2), null);
+		}
+	}
+	
+	public static void e(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, String.format(format, arg1, arg2, arg3), null);
+		}
+	}
+	
+	public static void e(String tag, String format, Object... args) {
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, String.format(format, args), null);
+		}
+	}
+	
+	/**
+	 * Logs a message at the {@link LogLevel#ERRORS} level, only obtaining it
+	 * from the given {@link Provider} if that level is enabled.
+	 * @param tag The tag to log with.
+	 * @param message The {@link Provider} of the message.
+	 */
+	public static void e(String tag, Provider<String> message) {
+		if (shouldLog(LogLevel.ERRORS, tag)) {
+			log(LogLevel.ERRORS, tag, message.obtainProvided(), null);
 		}
 	}
 	
-	@TargetApi(Build.VERSION_CODES.FROYO)
 	public static void wtf(String tag, String msg) {
-		if ((logFlags & LogLevel.WTF) > 0) {
-			Log.wtf(tag, msg);
+		if (shouldLog(LogLevel.WTF, tag)) {
+			log(LogLevel.WTF, tag, msg, null);
 		}
 	}
 	
-	@TargetApi(Build.VERSION_CODES.FROYO)
 	public static void wtf(String tag, String msg, Throwable tr) {
-		if ((logFlags & LogLevel.WTF) > 0) {
-			Log.wtf(tag, msg, tr);
+		if (shouldLog(LogLevel.WTF, tag)) {
+			log(LogLevel.WTF, tag, msg, tr);
 		}
 	}
 	
 	
 
+	/**
+	 * The settings for a single tag, along with the counters used to apply
+	 * them. Instances are replaced rather than modified when the settings
+	 * change.
+	 */
+	private static class TagRule {
+		static final int USE_GLOBAL_LEVEL = -1;
+		static final TagRule DEFAULT = new TagRule(USE_GLOBAL_LEVEL, 1, 0);
+		
+		private static final long WINDOW_MILLIS = 1000;
+		
+		final int logFlags;
+		final int sampleInterval;
+		final int maxPerSecond;
+		
+		private final AtomicLong sampleCount;
+		private final AtomicLong windowStart;
+		private final AtomicInteger windowCount;
+		private final AtomicInteger suppressedCount;
+		
+		TagRule(int logFlags, int sampleInterval, int maxPerSecond) {
+			this.logFlags = logFlags;
+			this.sampleInterval = sampleInterval;
+			this.maxPerSecond = maxPerSecond;
+			this.sampleCount = new AtomicLong();
+			this.windowStart = new AtomicLong();
+			this.windowCount = new AtomicInteger();
+			this.suppressedCount = new AtomicInteger();
+		}
+		
+		boolean isDefault() {
+			return logFlags == USE_GLOBAL_LEVEL && sampleInterval == 1 && maxPerSecond == 0;
+		}
+		
+		boolean isLoggable(int level) {
+			final int flags = (logFlags == USE_GLOBAL_LEVEL) ? Logger.logFlags : logFlags;
+			return (flags & level) != 0;
+		}
+		
+		/**
+		 * Applies the sampling and rate limit to a message which is otherwise
+		 * enabled, returning true if it should be logged.
+		 */
+		boolean tryAcquire(String tag, int level) {
+			if (sampleInterval > 1 && (sampleCount.getAndIncrement() % sampleInterval) != 0) {
+				return false;
+			}
+			
+			if (maxPerSecond > 0) {
+				final long now = System.currentTimeMillis();
+				final long start = windowStart.get();
+				if (now - start >= WINDOW_MILLIS && windowStart.compareAndSet(start, now)) {
+					// We started a new window. This races with other threads
+					// counting in the old window, but only by a few messages.
+					windowCount.set(0);
+				}
+				if (windowCount.incrementAndGet() > maxPerSecond) {
+					suppressedCount.incrementAndGet();
+					return false;
+				}
+				
+				final int suppressed = suppressedCount.getAndSet(0);
+				if (suppressed > 0) {
+					log(level, tag, suppressed + " messages were suppressed by the rate limit", null);
+				}
+			}
+			return true;
+		}
+	}
+	
 	public static class LogLevel {
 		public static final int VERBOSE = Integer.parseInt("000001", 2);
 	    public static final int DEBUG = Integer.parseInt("000010", 2);
-	    public static final int INFO = Integer.parseInt("000100");
+	    public static final int INFO = Integer.parseInt("000100", 2);
 	    public static final int WARNINGS = Integer.parseInt("001000", 2);
 	    public static final int ERRORS = Integer.parseInt("010000", 2);
 	    public static final int WTF = Integer.parseInt("100000", 2);
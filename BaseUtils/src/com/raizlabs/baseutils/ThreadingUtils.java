@@ -4,15 +4,31 @@ import android.os.Handler;
 import android.os.Looper;
 import android.view.View;
 
+import com.raizlabs.concurrent.UIThread;
+
 public class ThreadingUtils {
 
-	private static Handler uiHandler;
+	static {
+		// Install the Android poster directly, so platform independent code
+		// posts to the UI thread even if the lookup by name is minified away
+		UIThread.setDefaultPoster(new AndroidUIThreadPoster());
+	}
+
+	/**
+	 * Holds the UI thread and its {@link Handler}. These are created the first
+	 * time they are used, and the class loader guarantees this only happens
+	 * once and is visible to every thread, without locking on each access.
+	 */
+	private static class UIThreadHolder {
+		static final Thread THREAD = Looper.getMainLooper().getThread();
+		static final Handler HANDLER = new Handler(Looper.getMainLooper());
+	}
+	
 	/**
 	 * @return A {@link Handler} that is bound to the UI thread.
 	 */
 	public static Handler getUIHandler() {
-		if (uiHandler == null) uiHandler = new Handler(Looper.getMainLooper());
-		return uiHandler;
+		return UIThreadHolder.HANDLER;
 	}
 	
 	/**
@@ -25,7 +41,9 @@ public class ThreadingUtils {
 	public static boolean isOnHandlerThread(Handler handler) {
 		Looper handlerLooper = handler.getLooper();
 		if (handlerLooper != null) {
-			return handlerLooper.equals(Looper.myLooper());
+			// Compare threads directly to avoid the thread local lookup in
+			// Looper.myLooper()
+			return handlerLooper.getThread() == Thread.currentThread();
 		}
 		
 		return false;
@@ -35,11 +53,117 @@ public class ThreadingUtils {
 	 * @return True if this function was called from the UI thread
 	 */
 	public static boolean isOnUIThread() {
-		return Looper.getMainLooper().equals(Looper.myLooper());
+		return Thread.currentThread() == UIThreadHolder.THREAD;
 	}
 	
 
 	
+	private static class BatchedUIDispatcherHolder {
+		static final BatchedUIDispatcher INSTANCE = new BatchedUIDispatcher(getUIHandler());
+	}
+	
+	/**
+	 * @return A {@link BatchedUIDispatcher} which runs actions on the UI thread
+	 * in batches, bounded by a per-frame time budget.
+	 */
+	public static BatchedUIDispatcher getBatchedUIDispatcher() {
+		return BatchedUIDispatcherHolder.INSTANCE;
+	}
+	
+	/**
+	 * Runs the given {@link Runnable} on the UI thread. This will execute
+	 * immediately, before this function returns, if this function was called
+	 * on the UI thread. Otherwise, the {@link Runnable} will be queued on the
+	 * {@link BatchedUIDispatcher}, which runs many actions per message and
+	 * defers actions which don't fit in the current frame to the next frame.
+	 * This should be preferred over {@link #runOnUIThread(Runnable)} for
+	 * frequent, small updates from background threads.
+	 * @see #getBatchedUIDispatcher()
+	 * @param action The {@link Runnable} to execute on the UI thread.
+	 * @return True if the action was already executed before this function
+	 * returned, or false if the action was queued to be handled later.
+	 */
+	public static boolean runOnUIThreadBatched(Runnable action) {
+		if (isOnUIThread()) {
+			action.run();
+			return true;
+		} else {
+			getBatchedUIDispatcher().post(action);
+			return false;
+		}
+	}
+	
+	private static class KeyedPosterHolder {
+		static final KeyedPoster INSTANCE = new KeyedPoster(getUIHandler());
+	}
+	
+	/**
+	 * @return A {@link KeyedPoster} which posts to the UI thread.
+	 */
+	public static KeyedPoster getKeyedUIPoster() {
+		return KeyedPosterHolder.INSTANCE;
+	}
+	
+	/**
+	 * Runs the given {@link Runnable} on the UI thread, coalescing it with any
+	 * other actions run under the same key. This will execute immediately,
+	 * before this function returns, if this function was called on the UI
+	 * thread, cancelling any action pending for the key. Otherwise, it will be
+	 * posted under the key, replacing any action which is already pending.
+	 * @see KeyedPoster#post(Object, Runnable)
+	 * @param key The key which identifies the update.
+	 * @param action The {@link Runnable} to execute on the UI thread.
+	 * @return True if the action was already executed before this function
+	 * returned, or false if the action was posted to be handled later.
+	 */
+	public static boolean runOnUIThreadCoalesced(Object key, Runnable action) {
+		if (isOnUIThread()) {
+			getKeyedUIPoster().cancel(key);
+			action.run();
+			return true;
+		} else {
+			getKeyedUIPoster().post(key, action);
+			return false;
+		}
+	}
+	
+	/**
+	 * Posts the given {@link Runnable} to the UI thread under the given key,
+	 * replacing any action which is already pending for the key.
+	 * @see KeyedPoster#post(Object, Runnable)
+	 * @param key The key which identifies the update.
+	 * @param action The {@link Runnable} to execute on the UI thread.
+	 * @return True if the action was posted, or false if it replaced a pending
+	 * action.
+	 */
+	public static boolean postOnUIThreadCoalesced(Object key, Runnable action) {
+		return getKeyedUIPoster().post(key, action);
+	}
+	
+	/**
+	 * Runs the given {@link Runnable} on the UI thread once no other actions
+	 * have been debounced under the same key for the given delay.
+	 * @see KeyedPoster#debounce(Object, long, Runnable)
+	 * @param key The key which identifies the update.
+	 * @param delayMillis The delay in milliseconds.
+	 * @param action The {@link Runnable} to execute on the UI thread.
+	 */
+	public static void debounceOnUIThread(Object key, long delayMillis, Runnable action) {
+		getKeyedUIPoster().debounce(key, delayMillis, action);
+	}
+	
+	/**
+	 * Runs the given {@link Runnable} on the UI thread, running actions under
+	 * the same key at most once per the given interval.
+	 * @see KeyedPoster#throttle(Object, long, Runnable)
+	 * @param key The key which identifies the update.
+	 * @param intervalMillis The minimum time between runs, in milliseconds.
+	 * @param action The {@link Runnable} to execute on the UI thread.
+	 */
+	public static void throttleOnUIThread(Object key, long intervalMillis, Runnable action) {
+		getKeyedUIPoster().throttle(key, intervalMillis, action);
+	}
+	
 	/**
 	 * Runs the given {@link Runnable} on the thread the given {@link Handler}
 	 * is bound to. This will execute immediately, before this function returns,
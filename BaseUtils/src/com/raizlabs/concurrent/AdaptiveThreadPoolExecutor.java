@@ -0,0 +1,224 @@
+package com.raizlabs.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+
+/**
+ * {@link PriorityThreadPoolExecutor} which adjusts its number of threads
+ * between configured bounds based on how long work waits in the queue and
+ * how busy the CPU is.
+ * <br><br>
+ * When work waits longer than the target latency, threads are added, more
+ * quickly the further behind the pool is. For CPU-bound pools, threads are
+ * only added while the process is not already using every processor, and are
+ * removed when it is. When the queue is empty and work is picked up well
+ * within the target latency, a thread is removed.
+ * Adjustments are made at most once per interval, as work is submitted and
+ * completed, so an idle pool costs nothing. On API 9 and above, idle threads
+ * time out, so an idle pool holds no threads. Below that, the minimum number
+ * of threads is kept alive.
+ */
+public class AdaptiveThreadPoolExecutor extends PriorityThreadPoolExecutor {
+
+	/**
+	 * The default time work may wait in the queue before threads are added.
+	 */
+	public static final long DEFAULT_TARGET_LATENCY_MILLIS = 50;
+	/**
+	 * The default minimum time between adjustments.
+	 */
+	public static final long DEFAULT_ADJUST_INTERVAL_MILLIS = 250;
+
+	/**
+	 * The process CPU utilization, as a fraction of all processors, above
+	 * which a CPU-bound pool is considered saturated.
+	 */
+	private static final float CPU_SATURATED = 0.9f;
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	private final int minThreads;
+	private final int maxThreads;
+	private final boolean cpuBound;
+	private final int processorCount;
+	private volatile long targetLatencyNanos;
+	private final long adjustIntervalNanos;
+
+	private final AtomicLong submittedCount;
+	private final AtomicLong windowLatencyNanos;
+	private final AtomicLong windowCount;
+	private final AtomicLong lastAdjustNanos;
+	// Only accessed by the thread which wins the right to adjust
+	private long lastCpuMillis;
+	private long lastRealtimeMillis;
+
+	private volatile long averageLatencyNanos;
+	private volatile float cpuUtilization;
+
+	/**
+	 * Creates an {@link AdaptiveThreadPoolExecutor} which runs daemon threads.
+	 * @param minThreads The minimum number of threads to target.
+	 * @param maxThreads The maximum number of threads to run.
+	 * @param cpuBound True if the work is CPU-bound, in which case threads
+	 * won't be added while the CPU is saturated. False for work which mostly
+	 * waits, such as I/O.
+	 * @param namePrefix The prefix for the names of the threads.
+	 */
+	public AdaptiveThreadPoolExecutor(int minThreads, int maxThreads, boolean cpuBound, String namePrefix) {
+		this(minThreads, maxThreads, cpuBound, ConcurrencyUtils.createDaemonThreadFactory(namePrefix));
+	}
+
+	/**
+	 * Creates an {@link AdaptiveThreadPoolExecutor}.
+	 * @param minThreads The minimum number of threads to target.
+	 * @param maxThreads The maximum number of threads to run.
+	 * @param cpuBound True if the work is CPU-bound, in which case threads
+	 * won't be added while the CPU is saturated. False for work which mostly
+	 * waits, such as I/O.
+	 * @param threadFactory The {@link ThreadFactory} to create threads with.
+	 */
+	public AdaptiveThreadPoolExecutor(int minThreads, int maxThreads, boolean cpuBound, ThreadFactory threadFactory) {
+		super(checkBounds(minThreads, maxThreads), maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, threadFactory);
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+			allowCoreThreadTimeOutCompat();
+		}
+
+		this.minThreads = minThreads;
+		this.maxThreads = maxThreads;
+		this.cpuBound = cpuBound;
+		this.processorCount = ConcurrencyUtils.getProcessorCount();
+		this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TARGET_LATENCY_MILLIS);
+		this.adjustIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_ADJUST_INTERVAL_MILLIS);
+
+		this.submittedCount = new AtomicLong();
+		this.windowLatencyNanos = new AtomicLong();
+		this.windowCount = new AtomicLong();
+		this.lastAdjustNanos = new AtomicLong(System.nanoTime());
+		this.lastCpuMillis = Process.getElapsedCpuTime();
+		this.lastRealtimeMillis = SystemClock.elapsedRealtime();
+	}
+
+	@TargetApi(Build.VERSION_CODES.GINGERBREAD)
+	private void allowCoreThreadTimeOutCompat() {
+		allowCoreThreadTimeOut(true);
+	}
+
+	private static int checkBounds(int minThreads, int maxThreads) {
+		if (minThreads < 1 || maxThreads < minThreads) {
+			throw new IllegalArgumentException("Invalid thread bounds: " + minThreads + " to " + maxThreads);
+		}
+		return minThreads;
+	}
+
+	/**
+	 * Sets how long work may wait in the queue before threads are added.
+	 * @param latency The target latency.
+	 * @param unit The unit of the latency.
+	 */
+	public void setTargetQueueLatency(long latency, TimeUnit unit) {
+		this.targetLatencyNanos = unit.toNanos(latency);
+	}
+
+	/**
+	 * @return The minimum number of threads this pool targets.
+	 */
+	public int getMinThreads() { return minThreads; }
+
+	/**
+	 * @return The maximum number of threads this pool runs.
+	 */
+	public int getMaxThreads() { return maxThreads; }
+
+	/**
+	 * @return The number of threads this pool currently targets. The actual
+	 * number of threads may be lower if they have been idle.
+	 */
+	public int getTargetThreadCount() { return getCorePoolSize(); }
+
+	/**
+	 * @return The number of pieces of work which have been submitted.
+	 */
+	public long getSubmittedTaskCount() { return submittedCount.get(); }
+
+	/**
+	 * @return The number of pieces of work which are waiting to be run.
+	 */
+	public int getQueuedTaskCount() { return getQueue().size(); }
+
+	/**
+	 * @return The average time work waited in the queue, in milliseconds, as
+	 * of the last adjustment.
+	 */
+	public long getAverageQueueLatencyMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(averageLatencyNanos);
+	}
+
+	/**
+	 * @return The fraction of all processors the process was using as of the
+	 * last adjustment, between zero and one.
+	 */
+	public float getCpuUtilization() { return cpuUtilization; }
+
+	@Override
+	public void execute(Runnable command) {
+		submittedCount.incrementAndGet();
+		super.execute(command);
+		maybeAdjust();
+	}
+
+	@Override
+	protected void onDequeued(long queuedNanos) {
+		windowLatencyNanos.addAndGet(queuedNanos);
+		windowCount.incrementAndGet();
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		super.afterExecute(r, t);
+		maybeAdjust();
+	}
+
+	private void maybeAdjust() {
+		final long now = System.nanoTime();
+		final long last = lastAdjustNanos.get();
+		if (now - last < adjustIntervalNanos) return;
+		// Only one thread gets to adjust per interval
+		if (!lastAdjustNanos.compareAndSet(last, now)) return;
+
+		final long count = windowCount.getAndSet(0);
+		final long total = windowLatencyNanos.getAndSet(0);
+		// Work which is stuck in the queue hasn't been counted yet, so also
+		// consider how long the head of the queue has been waiting
+		final long latency = Math.max((count > 0) ? total / count : 0, getHeadQueuedNanos());
+		averageLatencyNanos = latency;
+		sampleCpuUtilization();
+
+		final long target = targetLatencyNanos;
+		final boolean saturated = cpuBound && cpuUtilization >= CPU_SATURATED;
+		final int core = getCorePoolSize();
+		if (latency > target && !getQueue().isEmpty() && !saturated) {
+			// Grow faster the further behind we are
+			final int step = (latency > 2 * target) ? Math.max(1, core / 2) : 1;
+			if (core < maxThreads) setCorePoolSize(Math.min(maxThreads, core + step));
+		} else if (saturated || (getQueue().isEmpty() && latency < target / 4)) {
+			if (core > minThreads) setCorePoolSize(core - 1);
+		}
+	}
+
+	private void sampleCpuUtilization() {
+		final long cpuMillis = Process.getElapsedCpuTime();
+		final long realtimeMillis = SystemClock.elapsedRealtime();
+		final long elapsed = realtimeMillis - lastRealtimeMillis;
+		if (elapsed > 0) {
+			final float utilization = (float) (cpuMillis - lastCpuMillis) / (elapsed * processorCount);
+			cpuUtilization = Math.max(0, Math.min(1, utilization));
+			lastCpuMillis = cpuMillis;
+			lastRealtimeMillis = realtimeMillis;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.raizlabs.concurrent;
+
+/**
+ * Marks work which spends most of its time waiting, such as on disk or
+ * network I/O, rather than using the CPU. A {@link WorkloadExecutor} runs
+ * such work on its I/O pool.
+ */
+public interface IOBound {
+
+}
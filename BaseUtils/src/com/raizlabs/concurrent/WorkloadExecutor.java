@@ -0,0 +1,105 @@
+package com.raizlabs.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Executor} which runs CPU-bound and I/O-bound work on separate
+ * {@link AdaptiveThreadPoolExecutor}s, so that work which is waiting on I/O
+ * never holds up work which is ready to compute. Each pool sizes itself
+ * within its own bounds, and both run work in order of
+ * {@link Prioritized#getPriority()}.
+ * <br><br>
+ * Work passed to {@link #execute(Runnable)} is run on the I/O pool if it
+ * implements {@link IOBound}, and on the CPU pool otherwise.
+ */
+public class WorkloadExecutor implements Executor {
+
+	private final AdaptiveThreadPoolExecutor cpuPool;
+	private final AdaptiveThreadPoolExecutor ioPool;
+
+	/**
+	 * Creates a {@link WorkloadExecutor} with a CPU pool of up to one thread
+	 * per processor and an I/O pool of up to four threads per processor.
+	 */
+	public WorkloadExecutor() {
+		this(1, ConcurrencyUtils.getProcessorCount(), 1, 4 * ConcurrencyUtils.getProcessorCount());
+	}
+
+	/**
+	 * Creates a {@link WorkloadExecutor} with the given pool bounds.
+	 * @param minCpuThreads The minimum number of CPU threads to target.
+	 * @param maxCpuThreads The maximum number of CPU threads.
+	 * @param minIOThreads The minimum number of I/O threads to target.
+	 * @param maxIOThreads The maximum number of I/O threads.
+	 */
+	public WorkloadExecutor(int minCpuThreads, int maxCpuThreads, int minIOThreads, int maxIOThreads) {
+		cpuPool = new AdaptiveThreadPoolExecutor(minCpuThreads, maxCpuThreads, true, "WorkloadExecutor-CPU");
+		ioPool = new AdaptiveThreadPoolExecutor(minIOThreads, maxIOThreads, false, "WorkloadExecutor-IO");
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command instanceof IOBound) {
+			ioPool.execute(command);
+		} else {
+			cpuPool.execute(command);
+		}
+	}
+
+	/**
+	 * Runs the given work on the CPU pool.
+	 * @param command The work to run.
+	 */
+	public void executeCPU(Runnable command) {
+		cpuPool.execute(command);
+	}
+
+	/**
+	 * Runs the given work on the I/O pool.
+	 * @param command The work to run.
+	 */
+	public void executeIO(Runnable command) {
+		ioPool.execute(command);
+	}
+
+	/**
+	 * @return The pool which runs CPU-bound work, which may be queried for
+	 * its live counters.
+	 */
+	public AdaptiveThreadPoolExecutor getCPUPool() {
+		return cpuPool;
+	}
+
+	/**
+	 * @return The pool which runs I/O-bound work, which may be queried for
+	 * its live counters.
+	 */
+	public AdaptiveThreadPoolExecutor getIOPool() {
+		return ioPool;
+	}
+
+	/**
+	 * Stops accepting new work. Work which has already been submitted will
+	 * still be run.
+	 */
+	public void shutdown() {
+		cpuPool.shutdown();
+		ioPool.shutdown();
+	}
+
+	/**
+	 * Blocks until all work has finished after a call to {@link #shutdown()},
+	 * or until the given timeout elapses.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if all work finished, false if the timeout elapsed first.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		return cpuPool.awaitTermination(timeout, unit) &&
+				ioPool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+}
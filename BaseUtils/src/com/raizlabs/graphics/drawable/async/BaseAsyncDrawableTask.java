@@ -10,6 +10,7 @@ import android.widget.ImageView;
 
 import com.raizlabs.baseutils.ThreadingUtils;
 import com.raizlabs.events.EventListener;
+import com.raizlabs.metrics.LibraryMetrics;
 
 /**
  * Base class which can be used for easy implementation of an
@@ -41,6 +42,11 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 		}
 	}
 
+	/**
+	 * When this task was bound, for metrics. Zero if metrics were disabled.
+	 */
+	private volatile long bindNanos = 0;
+	
 	private boolean completed = false;
 	@Override
 	public boolean isCompleted() {
@@ -52,6 +58,9 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 	@Override
 	public void cancel() {
 		synchronized (this) {
+			if (!cancelled && LibraryMetrics.isEnabled()) {
+				LibraryMetrics.DRAWABLE_TASKS_CANCELLED.increment();
+			}
 			cancelled = true;
 			// If this task isn't finished, update the drawable
 			// to the cancelled drawable
@@ -101,6 +110,10 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 			if (drawable == null) {
 				drawable = getLoadingDrawable();
 				completed = false;
+				if (LibraryMetrics.isEnabled()) {
+					LibraryMetrics.DRAWABLE_TASKS_BOUND.increment();
+					bindNanos = System.nanoTime();
+				}
 			} else {
 				// We're done early!
 				completed = true;
@@ -122,7 +135,13 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 		if (!wrapper.isBoundToView()) return;
 		// If we aren't cancelled, start up the work 
 		if (!isCancelled()) {
+			final boolean recordMetrics = LibraryMetrics.isEnabled();
+			final long startNanos = recordMetrics ? System.nanoTime() : 0;
+			if (recordMetrics && bindNanos != 0) {
+				LibraryMetrics.DRAWABLE_TASK_QUEUE_TIME.record(startNanos - bindNanos);
+			}
 			drawable = doExecute();
+			if (recordMetrics) LibraryMetrics.DRAWABLE_TASK_EXECUTE_TIME.recordSince(startNanos);
 			// Work has completed...
 			synchronized (this) {
 				// If we've been cancelled during the work, set the cancelled
@@ -132,6 +151,7 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 				} else {
 					// Otherwise we completed successfully
 					completed = true;
+					if (recordMetrics) LibraryMetrics.DRAWABLE_TASKS_COMPLETED.increment();
 				}
 			}
 		} else {
@@ -238,8 +258,9 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 					// about this task
 					final AsyncDrawableWrapper<T> newDrawable = 
 							new AsyncDrawableWrapper<T>(drawable, BaseAsyncDrawableTask.this);
-					// Change the drawable on the UI thread
-					ThreadingUtils.runOnUIThread(new Runnable() {
+					// Change the drawable on the UI thread. Updates are keyed
+					// by this wrapper so only the latest pending one is applied
+					ThreadingUtils.runOnUIThreadCoalesced(this, new Runnable() {
 						@Override
 						public void run() {
 							// Double check that we're still the bound task
@@ -307,8 +328,9 @@ public abstract class BaseAsyncDrawableTask<T> implements AsyncDrawableTask<T> {
 					// about this task
 					final AsyncDrawableWrapper<T> newDrawable = 
 							new AsyncDrawableWrapper<T>(drawable, BaseAsyncDrawableTask.this);
-					// Change the drawable on the UI thread
-					ThreadingUtils.runOnUIThread(new Runnable() {
+					// Change the drawable on the UI thread. Updates are keyed
+					// by this wrapper so only the latest pending one is applied
+					ThreadingUtils.runOnUIThreadCoalesced(this, new Runnable() {
 						@Override
 						public void run() {
 							// Double check that we're still the bound task
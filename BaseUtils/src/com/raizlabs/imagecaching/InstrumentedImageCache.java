@@ -0,0 +1,86 @@
+package com.raizlabs.imagecaching;
+
+import android.graphics.Bitmap;
+
+import com.raizlabs.metrics.Counter;
+import com.raizlabs.metrics.LibraryMetrics;
+import com.raizlabs.metrics.MetricsRegistry;
+
+/**
+ * Adapter {@link ImageCache} which passes everything through to another
+ * {@link ImageCache}, counting hits, misses, additions and removals in a
+ * {@link MetricsRegistry}. The counters are named after the given name, such
+ * as "name.hits". Like the rest of the library's instrumentation, nothing is
+ * counted unless {@link LibraryMetrics#isEnabled()}.
+ * <br><br>
+ * Evictions are not measured. "name.removals" only counts images removed
+ * through {@link #remove(String)}, and "name.purges" counts calls to
+ * {@link #purge()}. Images which the wrapped cache drops on its own, such as
+ * to stay within a size limit, are never seen here.
+ */
+public class InstrumentedImageCache implements ImageCache {
+
+	private final ImageCache cache;
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter additions;
+	private final Counter removals;
+	private final Counter purges;
+	
+	/**
+	 * Creates an {@link InstrumentedImageCache} which records its metrics in
+	 * the default {@link MetricsRegistry}.
+	 * @param name The name to prefix the metrics with.
+	 * @param cache The {@link ImageCache} to store images in.
+	 */
+	public InstrumentedImageCache(String name, ImageCache cache) {
+		this(name, cache, MetricsRegistry.getDefault());
+	}
+	
+	/**
+	 * Creates an {@link InstrumentedImageCache}.
+	 * @param name The name to prefix the metrics with.
+	 * @param cache The {@link ImageCache} to store images in.
+	 * @param registry The {@link MetricsRegistry} to record metrics in.
+	 */
+	public InstrumentedImageCache(String name, ImageCache cache, MetricsRegistry registry) {
+		this.cache = cache;
+		this.hits = registry.getCounter(name + ".hits");
+		this.misses = registry.getCounter(name + ".misses");
+		this.additions = registry.getCounter(name + ".additions");
+		this.removals = registry.getCounter(name + ".removals");
+		this.purges = registry.getCounter(name + ".purges");
+	}
+	
+	@Override
+	public void addImage(String imageName, Bitmap bitmap) {
+		cache.addImage(imageName, bitmap);
+		if (LibraryMetrics.isEnabled()) additions.increment();
+	}
+
+	@Override
+	public Bitmap getImage(String imageName) {
+		Bitmap bitmap = cache.getImage(imageName);
+		if (LibraryMetrics.isEnabled()) {
+			if (bitmap != null) {
+				hits.increment();
+			} else {
+				misses.increment();
+			}
+		}
+		return bitmap;
+	}
+
+	@Override
+	public Bitmap remove(String imageName) {
+		Bitmap bitmap = cache.remove(imageName);
+		if (bitmap != null && LibraryMetrics.isEnabled()) removals.increment();
+		return bitmap;
+	}
+
+	@Override
+	public void purge() {
+		cache.purge();
+		if (LibraryMetrics.isEnabled()) purges.increment();
+	}
+}
@@ -0,0 +1,297 @@
+package com.raizlabs.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.raizlabs.baseutils.Logger.LogLevel;
+
+/**
+ * {@link LogSink} which moves writes off of the logging thread. Messages are
+ * written into a fixed size, lock-free ring buffer and a background thread
+ * drains them in batches to one or more other {@link LogSink}s, flushing
+ * those sinks after each batch.
+ * <br><br>
+ * The ring buffer's slots are allocated up front and reused, so logging a
+ * message does not allocate. When the buffer is full, the
+ * {@link OverflowPolicy} determines whether the message is dropped or the
+ * logging thread waits for space. Dropped messages are counted and reported
+ * through the output sinks once space is available again.
+ */
+public class AsyncLogSink implements LogSink {
+
+	/**
+	 * Policies for what to do when a message is logged while the buffer is
+	 * full.
+	 */
+	public static final class OverflowPolicy {
+		/**
+		 * The new message is dropped and counted.
+		 */
+		public static final int DROP = 0;
+		/**
+		 * The logging thread waits until there is space for the message.
+		 */
+		public static final int BLOCK = 1;
+	}
+
+	/**
+	 * The default number of messages which the buffer can hold.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+	/**
+	 * The default maximum number of messages written per batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 64;
+
+	private static final String TAG = AsyncLogSink.class.getSimpleName();
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+	private final LogSink[] outputs;
+	private final int overflowPolicy;
+	private final int batchSize;
+
+	private final int mask;
+	private final Record[] records;
+	/**
+	 * The sequence number of each slot. A slot is free to be written for
+	 * position p when its sequence is p, and is ready to be read when its
+	 * sequence is p + 1.
+	 */
+	private final AtomicLongArray sequences;
+	/**
+	 * The next position to be claimed by a producer.
+	 */
+	private final AtomicLong tail;
+	/**
+	 * The next position to be read by the drain thread. Only accessed by the
+	 * drain thread.
+	 */
+	private long head;
+
+	private final AtomicLong droppedCount;
+	/**
+	 * Dropped messages which have not yet been reported to the outputs.
+	 */
+	private final AtomicLong unreportedDropCount;
+	private final Thread drainThread;
+	private volatile boolean drainWaiting;
+	private volatile boolean running;
+
+	/**
+	 * Creates an {@link AsyncLogSink} with the default capacity and batch
+	 * size which drops messages when full.
+	 * @param outputs The {@link LogSink}s to write messages to.
+	 */
+	public AsyncLogSink(LogSink... outputs) {
+		this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.DROP, outputs);
+	}
+
+	/**
+	 * Creates an {@link AsyncLogSink}.
+	 * @param capacity The number of messages the buffer can hold. This will
+	 * be rounded up to a power of two.
+	 * @param batchSize The maximum number of messages to write before
+	 * flushing the outputs.
+	 * @param overflowPolicy The {@link OverflowPolicy} to apply when the
+	 * buffer is full.
+	 * @param outputs The {@link LogSink}s to write messages to. These are only
+	 * called from the drain thread.
+	 */
+	public AsyncLogSink(int capacity, int batchSize, int overflowPolicy, LogSink... outputs) {
+		if (capacity < 2) {
+			throw new IllegalArgumentException("Capacity must be at least 2");
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1");
+		}
+		if (overflowPolicy != OverflowPolicy.DROP && overflowPolicy != OverflowPolicy.BLOCK) {
+			throw new IllegalArgumentException("Unknown overflow policy: " + overflowPolicy);
+		}
+
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.mask = size - 1;
+		this.records = new Record[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			records[i] = new Record();
+			sequences.set(i, i);
+		}
+		this.tail = new AtomicLong();
+		this.head = 0;
+
+		this.outputs = outputs.clone();
+		this.overflowPolicy = overflowPolicy;
+		this.batchSize = batchSize;
+		this.droppedCount = new AtomicLong();
+		this.unreportedDropCount = new AtomicLong();
+
+		this.running = true;
+		this.drainThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				drainLoop();
+			}
+		}, TAG);
+		drainThread.setDaemon(true);
+		drainThread.start();
+	}
+
+	/**
+	 * @return The number of messages which have been dropped because the
+	 * buffer was full.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	@Override
+	public void log(long timeMillis, int level, String tag, String msg, Throwable tr) {
+		long position;
+		while (true) {
+			position = tail.get();
+			final long sequence = sequences.get((int) position & mask);
+			final long difference = sequence - position;
+			if (difference == 0) {
+				// The slot is free, try to claim it
+				if (tail.compareAndSet(position, position + 1)) break;
+			} else if (difference < 0) {
+				// The buffer is full
+				if (overflowPolicy == OverflowPolicy.DROP || !running) {
+					droppedCount.incrementAndGet();
+					unreportedDropCount.incrementAndGet();
+					return;
+				} else {
+					wakeDrainThread();
+					LockSupport.parkNanos(1000);
+				}
+			}
+			// Otherwise another producer claimed this position, try again
+		}
+
+		final int index = (int) position & mask;
+		records[index].set(timeMillis, level, tag, msg, tr);
+		// Publish the record to the drain thread
+		sequences.set(index, position + 1);
+
+		if (drainWaiting) wakeDrainThread();
+	}
+
+	/**
+	 * Requests that buffered messages be written as soon as possible. This
+	 * does not wait for the writes to complete.
+	 */
+	@Override
+	public void flush() {
+		wakeDrainThread();
+	}
+
+	/**
+	 * Stops the drain thread after writing any buffered messages. Messages
+	 * logged after this call may be dropped.
+	 * @param timeoutMillis The maximum time to wait for the buffered messages
+	 * to be written.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public void shutdown(long timeoutMillis) throws InterruptedException {
+		running = false;
+		wakeDrainThread();
+		drainThread.join(timeoutMillis);
+	}
+
+	private void wakeDrainThread() {
+		LockSupport.unpark(drainThread);
+	}
+
+	private void drainLoop() {
+		while (true) {
+			final boolean wasRunning = running;
+			final int drained = drainBatch();
+			if (drained > 0) {
+				flushOutputs();
+			} else if (!wasRunning) {
+				// Nothing left and we've been stopped
+				break;
+			} else {
+				drainWaiting = true;
+				// Double check that nothing was published before we flagged
+				// that we are waiting
+				if (!isReadable(head)) {
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+				drainWaiting = false;
+			}
+		}
+	}
+
+	private boolean isReadable(long position) {
+		return sequences.get((int) position & mask) == position + 1;
+	}
+
+	private int drainBatch() {
+		int drained = 0;
+		while (drained < batchSize && isReadable(head)) {
+			final int index = (int) head & mask;
+			final Record record = records[index];
+			write(record.timeMillis, record.level, record.tag, record.msg, record.tr);
+			record.clear();
+			// Free the slot for the position one lap ahead
+			sequences.set(index, head + mask + 1);
+			head++;
+			drained++;
+		}
+
+		final long dropped = unreportedDropCount.getAndSet(0);
+		if (dropped > 0) {
+			write(System.currentTimeMillis(), LogLevel.WARNINGS, TAG,
+					dropped + " log messages were dropped because the buffer was full", null);
+			drained++;
+		}
+		return drained;
+	}
+
+	private void write(long timeMillis, int level, String tag, String msg, Throwable tr) {
+		for (LogSink output : outputs) {
+			try {
+				output.log(timeMillis, level, tag, msg, tr);
+			} catch (RuntimeException e) {
+				// Don't let a broken output kill the drain thread
+			}
+		}
+	}
+
+	private void flushOutputs() {
+		for (LogSink output : outputs) {
+			try {
+				output.flush();
+			} catch (RuntimeException e) { }
+		}
+	}
+
+	/**
+	 * A reusable slot in the ring buffer.
+	 */
+	private static class Record {
+		long timeMillis;
+		int level;
+		String tag;
+		String msg;
+		Throwable tr;
+
+		void set(long timeMillis, int level, String tag, String msg, Throwable tr) {
+			this.timeMillis = timeMillis;
+			this.level = level;
+			this.tag = tag;
+			this.msg = msg;
+			this.tr = tr;
+		}
+
+		void clear() {
+			tag = null;
+			msg = null;
+			tr = null;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.raizlabs.logging;
+
+import com.raizlabs.baseutils.Logger;
+import com.raizlabs.baseutils.Logger.LogLevel;
+
+/**
+ * Interface for a destination which {@link Logger} messages are written to.
+ */
+public interface LogSink {
+	/**
+	 * Writes the given message.
+	 * @param timeMillis The time the message was logged, in milliseconds since
+	 * the epoch.
+	 * @param level The level of the message, as one of the values defined in
+	 * {@link LogLevel}.
+	 * @param tag The tag of the message.
+	 * @param msg The message.
+	 * @param tr The {@link Throwable} to log with the message, or null.
+	 */
+	public void log(long timeMillis, int level, String tag, String msg, Throwable tr);
+	
+	/**
+	 * Flushes any messages which have been written but may be buffered.
+	 */
+	public void flush();
+}
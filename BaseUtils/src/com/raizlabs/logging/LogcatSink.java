@@ -0,0 +1,47 @@
+package com.raizlabs.logging;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Log;
+
+import com.raizlabs.baseutils.Logger.LogLevel;
+
+/**
+ * {@link LogSink} which writes synchronously to the built in Android
+ * {@link Log}.
+ */
+public class LogcatSink implements LogSink {
+	
+	private static final LogcatSink INSTANCE = new LogcatSink();
+	/**
+	 * @return The shared {@link LogcatSink}.
+	 */
+	public static LogcatSink getInstance() { return INSTANCE; }
+	
+	@TargetApi(Build.VERSION_CODES.FROYO)
+	@Override
+	public void log(long timeMillis, int level, String tag, String msg, Throwable tr) {
+		if (level == LogLevel.VERBOSE) {
+			if (tr == null) Log.v(tag, msg);
+			else Log.v(tag, msg, tr);
+		} else if (level == LogLevel.DEBUG) {
+			if (tr == null) Log.d(tag, msg);
+			else Log.d(tag, msg, tr);
+		} else if (level == LogLevel.INFO) {
+			if (tr == null) Log.i(tag, msg);
+			else Log.i(tag, msg, tr);
+		} else if (level == LogLevel.WARNINGS) {
+			if (tr == null) Log.w(tag, msg);
+			else Log.w(tag, msg, tr);
+		} else if (level == LogLevel.ERRORS) {
+			if (tr == null) Log.e(tag, msg);
+			else Log.e(tag, msg, tr);
+		} else if (level == LogLevel.WTF) {
+			if (tr == null) Log.wtf(tag, msg);
+			else Log.wtf(tag, msg, tr);
+		}
+	}
+	
+	@Override
+	public void flush() { }
+}
@@ -0,0 +1,136 @@
+package com.raizlabs.logging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import com.raizlabs.baseutils.IOUtils;
+import com.raizlabs.baseutils.Logger.LogLevel;
+
+/**
+ * {@link LogSink} which writes messages as lines of text to a file. Once the
+ * file exceeds a maximum size, it is rotated: "name" is renamed to "name.1",
+ * "name.1" to "name.2", and so on, discarding the oldest file beyond the
+ * configured count.
+ * <br><br>
+ * Writes are buffered until {@link #flush()} is called. This class is not
+ * thread safe, and is intended to be used as an output of an
+ * {@link AsyncLogSink}.
+ */
+public class RotatingFileLogSink implements LogSink {
+
+	private final File file;
+	private final long maxFileBytes;
+	private final int maxBackups;
+	private final SimpleDateFormat dateFormat;
+	private final Date date;
+
+	private Writer writer;
+	private long currentBytes;
+
+	/**
+	 * Creates a {@link RotatingFileLogSink}.
+	 * @param file The file to write to.
+	 * @param maxFileBytes The approximate size at which the file is rotated.
+	 * @param maxBackups The number of rotated files to keep.
+	 */
+	public RotatingFileLogSink(File file, long maxFileBytes, int maxBackups) {
+		this.file = file;
+		this.maxFileBytes = maxFileBytes;
+		this.maxBackups = maxBackups;
+		this.dateFormat = new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+		this.date = new Date();
+	}
+
+	@Override
+	public void log(long timeMillis, int level, String tag, String msg, Throwable tr) {
+		try {
+			if (writer == null) open();
+
+			date.setTime(timeMillis);
+			StringBuilder line = new StringBuilder();
+			line.append(dateFormat.format(date))
+				.append(' ').append(getLevelChar(level))
+				.append('/').append(tag)
+				.append(": ").append(msg)
+				.append('\n');
+			if (tr != null) {
+				StringWriter trace = new StringWriter();
+				tr.printStackTrace(new PrintWriter(trace));
+				line.append(trace);
+			}
+
+			writer.write(line.toString());
+			// Approximate, since we don't know the encoded length
+			currentBytes += line.length();
+			if (currentBytes >= maxFileBytes) {
+				rotate();
+			}
+		} catch (IOException e) {
+			// Drop the writer so we try to reopen it next time
+			close();
+		}
+	}
+
+	@Override
+	public void flush() {
+		if (writer != null) {
+			try {
+				writer.flush();
+			} catch (IOException e) {
+				close();
+			}
+		}
+	}
+
+	/**
+	 * Flushes and closes the current file. It will be reopened if another
+	 * message is logged.
+	 */
+	public void close() {
+		IOUtils.safeClose(writer);
+		writer = null;
+	}
+
+	private void open() throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null) parent.mkdirs();
+		currentBytes = file.length();
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), "UTF-8"));
+	}
+
+	private void rotate() throws IOException {
+		close();
+		if (maxBackups > 0) {
+			new File(file.getPath() + "." + maxBackups).delete();
+			for (int i = maxBackups - 1; i >= 1; i--) {
+				File backup = new File(file.getPath() + "." + i);
+				if (backup.exists()) {
+					backup.renameTo(new File(file.getPath() + "." + (i + 1)));
+				}
+			}
+			file.renameTo(new File(file.getPath() + ".1"));
+		} else {
+			file.delete();
+		}
+		open();
+	}
+
+	private static char getLevelChar(int level) {
+		if (level == LogLevel.VERBOSE) return 'V';
+		if (level == LogLevel.DEBUG) return 'D';
+		if (level == LogLevel.INFO) return 'I';
+		if (level == LogLevel.WARNINGS) return 'W';
+		if (level == LogLevel.ERRORS) return 'E';
+		if (level == LogLevel.WTF) return 'A';
+		return '?';
+	}
+}
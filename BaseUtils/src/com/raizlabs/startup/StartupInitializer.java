@@ -0,0 +1,531 @@
+package com.raizlabs.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.raizlabs.baseutils.Logger;
+import com.raizlabs.concurrent.ConcurrencyUtils;
+import com.raizlabs.concurrent.Prioritized;
+import com.raizlabs.concurrent.PrioritizedRunnable;
+import com.raizlabs.concurrent.PriorityThreadPoolExecutor;
+import com.raizlabs.synchronization.OneShotLock;
+
+/**
+ * Class which runs a set of {@link StartupTask}s in dependency order. Tasks
+ * are run as soon as all of their dependencies have completed, so independent
+ * tasks run concurrently on a bounded pool instead of one after another.
+ * <br><br>
+ * Tasks which are required before the first frame, along with everything
+ * they depend on, are given a higher priority than the rest. The UI thread
+ * may block on {@link #awaitFirstFrame(long, TimeUnit)} before showing any
+ * content, while the remaining tasks continue in the background.
+ * <br><br>
+ * If a task fails, every task which depends on it, directly or indirectly, is
+ * skipped. The outcome and timing of each task is available from
+ * {@link #getResults()} once it has finished.
+ */
+public class StartupInitializer {
+
+	/**
+	 * The states a {@link StartupTask} may be in.
+	 */
+	public static final class TaskState {
+		/**
+		 * The task is waiting for its dependencies or for a thread to run on.
+		 */
+		public static final int PENDING = 0;
+		/**
+		 * The task is currently running.
+		 */
+		public static final int RUNNING = 1;
+		/**
+		 * The task ran and completed successfully.
+		 */
+		public static final int SUCCEEDED = 2;
+		/**
+		 * The task ran and threw an exception.
+		 */
+		public static final int FAILED = 3;
+		/**
+		 * The task was not run because one of its dependencies did not
+		 * succeed.
+		 */
+		public static final int SKIPPED = 4;
+	}
+
+	/**
+	 * The outcome of a single {@link StartupTask}.
+	 */
+	public static class TaskResult {
+		private final String name;
+		private final int state;
+		private final boolean requiredBeforeFirstFrame;
+		private final long startOffsetNanos;
+		private final long durationNanos;
+		private final Throwable error;
+
+		TaskResult(String name, int state, boolean requiredBeforeFirstFrame,
+				long startOffsetNanos, long durationNanos, Throwable error) {
+			this.name = name;
+			this.state = state;
+			this.requiredBeforeFirstFrame = requiredBeforeFirstFrame;
+			this.startOffsetNanos = startOffsetNanos;
+			this.durationNanos = durationNanos;
+			this.error = error;
+		}
+
+		/**
+		 * @return The name of the task.
+		 */
+		public String getName() { return name; }
+		/**
+		 * @return The final {@link TaskState} of the task.
+		 */
+		public int getState() { return state; }
+		/**
+		 * @return True if the task, or a task which depends on it, was
+		 * required before the first frame.
+		 */
+		public boolean isRequiredBeforeFirstFrame() { return requiredBeforeFirstFrame; }
+		/**
+		 * @return The time from when the initializer was started until the
+		 * task began running, in milliseconds.
+		 */
+		public long getStartOffsetMillis() { return TimeUnit.NANOSECONDS.toMillis(startOffsetNanos); }
+		/**
+		 * @return The time the task took to run, in milliseconds. Zero if
+		 * the task was skipped.
+		 */
+		public long getDurationMillis() { return TimeUnit.NANOSECONDS.toMillis(durationNanos); }
+		/**
+		 * @return The exception the task threw, or null if it didn't fail.
+		 */
+		public Throwable getError() { return error; }
+
+		@Override
+		public String toString() {
+			String stateName;
+			if (state == TaskState.SUCCEEDED) stateName = "succeeded";
+			else if (state == TaskState.FAILED) stateName = "failed";
+			else if (state == TaskState.SKIPPED) stateName = "skipped";
+			else stateName = "unfinished";
+			return String.format("%s %s: started at %dms, took %dms%s", name, stateName,
+					getStartOffsetMillis(), getDurationMillis(), requiredBeforeFirstFrame ? " (first frame)" : "");
+		}
+	}
+
+	private final LinkedHashMap<String, Node> nodes;
+	private final OneShotLock firstFrameLock;
+	private final OneShotLock completionLock;
+	private final List<TaskResult> results;
+	private AtomicInteger firstFrameRemaining;
+	private AtomicInteger remaining;
+	private Executor executor;
+	private ExecutorService ownedExecutor;
+	private long startNanos;
+	private boolean started;
+
+	/**
+	 * Constructs an empty {@link StartupInitializer}.
+	 */
+	public StartupInitializer() {
+		nodes = new LinkedHashMap<String, Node>();
+		firstFrameLock = new OneShotLock();
+		completionLock = new OneShotLock();
+		results = Collections.synchronizedList(new ArrayList<TaskResult>());
+		started = false;
+	}
+
+	/**
+	 * Adds a task to be run when this initializer is started.
+	 * @param task The task to add.
+	 * @throws IllegalArgumentException if a task with the same name has
+	 * already been added.
+	 * @throws IllegalStateException if this initializer has been started.
+	 */
+	public void addTask(StartupTask task) {
+		synchronized (this) {
+			if (started) {
+				throw new IllegalStateException("Tasks can't be added once started");
+			}
+			if (nodes.containsKey(task.getName())) {
+				throw new IllegalArgumentException("Duplicate task name: " + task.getName());
+			}
+			nodes.put(task.getName(), new Node(task));
+		}
+	}
+
+	/**
+	 * Starts running the tasks on a pool with one thread per processor, which
+	 * is shut down once every task has finished.
+	 * @throws IllegalArgumentException if a task depends on a task which
+	 * hasn't been added, or if the dependencies contain a cycle.
+	 * @throws IllegalStateException if this initializer has already been
+	 * started.
+	 */
+	public void start() {
+		start(null);
+	}
+
+	/**
+	 * Starts running the tasks on the given {@link Executor}. If it orders
+	 * work by {@link Prioritized#getPriority()}, such as a
+	 * {@link PriorityThreadPoolExecutor}, tasks required before the first
+	 * frame are run first.
+	 * @param executor The {@link Executor} to run the tasks on, or null to
+	 * use a pool with one thread per processor.
+	 * @throws IllegalArgumentException if a task depends on a task which
+	 * hasn't been added, or if the dependencies contain a cycle.
+	 * @throws IllegalStateException if this initializer has already been
+	 * started.
+	 */
+	public void start(Executor executor) {
+		final List<Node> ready;
+		synchronized (this) {
+			if (started) {
+				throw new IllegalStateException("Already started");
+			}
+
+			final List<Node> order = buildGraph();
+			started = true;
+			if (executor == null) {
+				ownedExecutor = new PriorityThreadPoolExecutor(
+						Math.min(ConcurrencyUtils.getProcessorCount(), Math.max(1, nodes.size())),
+						getClass().getSimpleName());
+				executor = ownedExecutor;
+			}
+			this.executor = executor;
+
+			int firstFrameCount = 0;
+			for (Node node : order) {
+				if (node.requiredBeforeFirstFrame) firstFrameCount++;
+			}
+			firstFrameRemaining = new AtomicInteger(firstFrameCount);
+			remaining = new AtomicInteger(order.size());
+
+			ready = new ArrayList<Node>();
+			for (Node node : order) {
+				if (node.remainingDependencies.get() == 0) ready.add(node);
+			}
+			startNanos = System.nanoTime();
+		}
+
+		if (firstFrameRemaining.get() == 0) unlockSafely(firstFrameLock, "first frame");
+		if (remaining.get() == 0) onAllFinished();
+
+		for (Node node : ready) {
+			schedule(node);
+		}
+	}
+
+	/**
+	 * Links the nodes to their dependents and sorts them topologically,
+	 * marking every node which a first frame task depends on.
+	 * @return The nodes in an order where each node follows its dependencies.
+	 */
+	private List<Node> buildGraph() {
+		// Resolve the edges into local maps first, so that nothing is linked
+		// unless the whole graph is valid and a corrected retry starts clean
+		LinkedHashMap<Node, List<Node>> dependencies = new LinkedHashMap<Node, List<Node>>();
+		LinkedHashMap<Node, List<Node>> dependents = new LinkedHashMap<Node, List<Node>>();
+		for (Node node : nodes.values()) {
+			dependents.put(node, new ArrayList<Node>());
+		}
+		for (Node node : nodes.values()) {
+			List<Node> nodeDependencies = new ArrayList<Node>();
+			for (String dependencyName : node.task.getDependencies()) {
+				Node dependency = nodes.get(dependencyName);
+				if (dependency == null) {
+					throw new IllegalArgumentException(
+							"Task " + node.task.getName() + " depends on unknown task " + dependencyName);
+				}
+				dependents.get(dependency).add(node);
+				nodeDependencies.add(dependency);
+			}
+			dependencies.put(node, nodeDependencies);
+		}
+
+		// Kahn's algorithm, using a count of unsorted dependencies per node
+		LinkedHashMap<Node, Integer> unsorted = new LinkedHashMap<Node, Integer>();
+		LinkedList<Node> queue = new LinkedList<Node>();
+		for (Node node : nodes.values()) {
+			int count = dependencies.get(node).size();
+			unsorted.put(node, count);
+			if (count == 0) queue.add(node);
+		}
+		List<Node> order = new ArrayList<Node>(nodes.size());
+		while (!queue.isEmpty()) {
+			Node node = queue.removeFirst();
+			unsorted.remove(node);
+			order.add(node);
+			for (Node dependent : dependents.get(node)) {
+				int count = unsorted.get(dependent) - 1;
+				unsorted.put(dependent, count);
+				if (count == 0) queue.add(dependent);
+			}
+		}
+		if (!unsorted.isEmpty()) {
+			throw new IllegalArgumentException("Dependency cycle among tasks: " + unsorted.keySet());
+		}
+
+		for (Node node : order) {
+			node.dependencies.addAll(dependencies.get(node));
+			node.dependents.addAll(dependents.get(node));
+			node.remainingDependencies.set(node.dependencies.size());
+		}
+
+		// Walk backwards so each node is visited after everything depending
+		// on it, letting the first frame requirement flow down to dependencies
+		for (int i = order.size() - 1; i >= 0; i--) {
+			Node node = order.get(i);
+			if (node.requiredBeforeFirstFrame) {
+				for (Node dependency : node.dependencies) {
+					dependency.requiredBeforeFirstFrame = true;
+				}
+			}
+		}
+		return order;
+	}
+
+	private void schedule(final Node node) {
+		if (node.dependencyFailed) {
+			finish(node, TaskState.SKIPPED, 0, 0, null);
+			return;
+		}
+
+		executor.execute(new PrioritizedRunnable() {
+			@Override
+			public int getPriority() {
+				return node.requiredBeforeFirstFrame ?
+						Prioritized.Priority.FOREGROUND : Prioritized.Priority.NORMAL;
+			}
+
+			@Override
+			public void run() {
+				runNode(node);
+			}
+		});
+	}
+
+	private void runNode(Node node) {
+		node.state = TaskState.RUNNING;
+		final long start = System.nanoTime();
+		Throwable error = null;
+		try {
+			node.task.run();
+		} catch (Throwable t) {
+			error = t;
+		}
+		final long end = System.nanoTime();
+		finish(node, (error == null) ? TaskState.SUCCEEDED : TaskState.FAILED,
+				start - startNanos, end - start, error);
+	}
+
+	private void finish(Node node, int state, long startOffsetNanos, long durationNanos, Throwable error) {
+		node.state = state;
+		results.add(new TaskResult(node.task.getName(), state, node.requiredBeforeFirstFrame,
+				startOffsetNanos, durationNanos, error));
+
+		for (Node dependent : node.dependents) {
+			if (state != TaskState.SUCCEEDED) {
+				// Must be set before the count is decremented so the dependent
+				// sees it when it is scheduled
+				dependent.dependencyFailed = true;
+			}
+			if (dependent.remainingDependencies.decrementAndGet() == 0) {
+				schedule(dependent);
+			}
+		}
+
+		final boolean firstFrameReady =
+				node.requiredBeforeFirstFrame && firstFrameRemaining.decrementAndGet() == 0;
+		final boolean allFinished = remaining.decrementAndGet() == 0;
+
+		// Unlock last, since callbacks may run inline and throw. The graph has
+		// already moved on, so a failing callback can't stall other tasks.
+		unlockSafely(node.lock, node.task.getName());
+		if (firstFrameReady) {
+			unlockSafely(firstFrameLock, "first frame");
+		}
+		if (allFinished) {
+			onAllFinished();
+		}
+	}
+
+	private void onAllFinished() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+		unlockSafely(completionLock, "completion");
+	}
+
+	/**
+	 * Unlocks the given lock, logging any exception thrown by its callbacks
+	 * instead of letting it escape into the task bookkeeping.
+	 */
+	private void unlockSafely(OneShotLock lock, String name) {
+		try {
+			lock.unlock();
+		} catch (RuntimeException e) {
+			Logger.e(getClass().getSimpleName(), "Callback for " + name + " lock threw", e);
+		} catch (Error e) {
+			Logger.e(getClass().getSimpleName(), "Callback for " + name + " lock threw", e);
+		}
+	}
+
+	/**
+	 * @return True if every task required before the first frame has
+	 * finished.
+	 */
+	public boolean isFirstFrameReady() {
+		return firstFrameLock.isUnlocked();
+	}
+
+	/**
+	 * Blocks until every task required before the first frame has finished,
+	 * or until the given timeout elapses. This is typically called on the UI
+	 * thread before showing content.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if the tasks finished, false if the timeout elapsed first.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public boolean awaitFirstFrame(long timeout, TimeUnit unit) throws InterruptedException {
+		return firstFrameLock.waitUntilUnlocked(timeout, unit);
+	}
+
+	/**
+	 * Runs the given action once every task required before the first frame
+	 * has finished.
+	 * @see OneShotLock#runWhenUnlocked(Runnable, Executor)
+	 * @param action The action to run.
+	 * @param executor The {@link Executor} to run the action on, or null to
+	 * run it on whichever thread finishes the last such task.
+	 */
+	public void runWhenFirstFrameReady(Runnable action, Executor executor) {
+		firstFrameLock.runWhenUnlocked(action, executor);
+	}
+
+	/**
+	 * @return True if every task has finished.
+	 */
+	public boolean isComplete() {
+		return completionLock.isUnlocked();
+	}
+
+	/**
+	 * Blocks until every task has finished, or until the given timeout
+	 * elapses.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if the tasks finished, false if the timeout elapsed first.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+		return completionLock.waitUntilUnlocked(timeout, unit);
+	}
+
+	/**
+	 * Runs the given action once every task has finished.
+	 * @see OneShotLock#runWhenUnlocked(Runnable, Executor)
+	 * @param action The action to run.
+	 * @param executor The {@link Executor} to run the action on, or null to
+	 * run it on whichever thread finishes the last task.
+	 */
+	public void runWhenComplete(Runnable action, Executor executor) {
+		completionLock.runWhenUnlocked(action, executor);
+	}
+
+	/**
+	 * Gets the {@link OneShotLock} which is unlocked when the given task
+	 * finishes, whether or not it succeeded.
+	 * @param name The name of the task.
+	 * @return The lock for the task, or null if there is no such task.
+	 */
+	public OneShotLock getTaskLock(String name) {
+		synchronized (this) {
+			Node node = nodes.get(name);
+			return (node != null) ? node.lock : null;
+		}
+	}
+
+	/**
+	 * Gets the current {@link TaskState} of the given task.
+	 * @param name The name of the task.
+	 * @return The state of the task.
+	 * @throws IllegalArgumentException if there is no such task.
+	 */
+	public int getTaskState(String name) {
+		final Node node;
+		synchronized (this) {
+			node = nodes.get(name);
+		}
+		if (node == null) {
+			throw new IllegalArgumentException("Unknown task: " + name);
+		}
+		return node.state;
+	}
+
+	/**
+	 * @return The results of every task which has finished so far, in the
+	 * order they finished.
+	 */
+	public List<TaskResult> getResults() {
+		synchronized (results) {
+			return new ArrayList<TaskResult>(results);
+		}
+	}
+
+	/**
+	 * Logs the result of every task which has finished so far via the
+	 * {@link Logger}, along with the total elapsed time.
+	 * @param tag The tag to log with.
+	 */
+	public void logResults(String tag) {
+		long endOffsetNanos = 0;
+		for (TaskResult result : getResults()) {
+			if (result.getError() != null) {
+				Logger.w(tag, result.toString(), result.getError());
+			} else {
+				Logger.d(tag, result.toString());
+			}
+			endOffsetNanos = Math.max(endOffsetNanos, result.startOffsetNanos + result.durationNanos);
+		}
+		Logger.d(tag, "Startup tasks took %dms", TimeUnit.NANOSECONDS.toMillis(endOffsetNanos));
+	}
+
+	private static class Node {
+		final StartupTask task;
+		final OneShotLock lock;
+		final List<Node> dependencies;
+		final List<Node> dependents;
+		final AtomicInteger remainingDependencies;
+		boolean requiredBeforeFirstFrame;
+		volatile boolean dependencyFailed;
+		volatile int state;
+
+		Node(StartupTask task) {
+			this.task = task;
+			this.lock = new OneShotLock();
+			this.dependencies = new ArrayList<Node>();
+			this.dependents = new ArrayList<Node>();
+			this.remainingDependencies = new AtomicInteger();
+			this.requiredBeforeFirstFrame = task.isRequiredBeforeFirstFrame();
+			this.state = TaskState.PENDING;
+		}
+
+		@Override
+		public String toString() {
+			return task.getName();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.raizlabs.startup;
+
+/**
+ * A named unit of work to be run by a {@link StartupInitializer}. A task
+ * declares the names of the tasks which must complete before it may run, and
+ * whether it must complete before the app's first frame is drawn.
+ */
+public abstract class StartupTask {
+
+	private final String name;
+	private final boolean requiredBeforeFirstFrame;
+	private final String[] dependencies;
+
+	/**
+	 * Constructs a {@link StartupTask}.
+	 * @param name The name of the task, which must be unique within its
+	 * {@link StartupInitializer}.
+	 * @param requiredBeforeFirstFrame True if this task, and therefore all of
+	 * its dependencies, must complete before the first frame is drawn.
+	 * @param dependencies The names of the tasks which must complete before
+	 * this task is run.
+	 */
+	public StartupTask(String name, boolean requiredBeforeFirstFrame, String... dependencies) {
+		if (name == null) {
+			throw new IllegalArgumentException("Name must not be null");
+		}
+		this.name = name;
+		this.requiredBeforeFirstFrame = requiredBeforeFirstFrame;
+		this.dependencies = (dependencies != null) ? dependencies.clone() : new String[0];
+	}
+
+	/**
+	 * @return The name of this task.
+	 */
+	public String getName() { return name; }
+
+	/**
+	 * @return True if this task must complete before the first frame is
+	 * drawn.
+	 */
+	public boolean isRequiredBeforeFirstFrame() { return requiredBeforeFirstFrame; }
+
+	/**
+	 * @return The names of the tasks which must complete before this task is
+	 * run.
+	 */
+	public String[] getDependencies() { return dependencies.clone(); }
+
+	/**
+	 * Performs the work of this task. This is called on a background thread
+	 * once all of its dependencies have completed successfully.
+	 * @throws Exception if the task fails. Tasks which depend on this one
+	 * will then be skipped.
+	 */
+	public abstract void run() throws Exception;
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,127 @@
+package com.raizlabs.tasks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Policy which limits how often progress updates are delivered to the
+ * listeners of an {@link RZAsyncTaskEvent}. An update is delivered if at
+ * least the minimum interval has passed since the last delivered update, or
+ * if the progress has advanced by at least the minimum percentage step.
+ * Either criteria may be disabled by setting it to zero. If both are disabled,
+ * every update is delivered.
+ * <br><br>
+ * Percentages can only be computed when the progress values are
+ * {@link Number}s in the form {current, max}, as in
+ * {@link com.raizlabs.events.ProgressListener}. When they are, an update whose
+ * current value has reached the max is always delivered. When they aren't,
+ * the percentage step is ignored. Regardless of the type, the
+ * {@link RZAsyncTaskEvent} will deliver the last suppressed update before the
+ * task finishes, so the final value is never dropped.
+ * <br><br>
+ * This class is not thread safe. Progress should be published from a single
+ * thread, as {@link RZAsyncTask} does.
+ */
+public class ProgressThrottle {
+	private final long minIntervalNanos;
+	private final float minPercentStep;
+
+	private boolean hasDelivered;
+	private long lastDeliveredNanos;
+	private float lastDeliveredPercent;
+
+	/**
+	 * Creates a {@link ProgressThrottle} which delivers at most one update per
+	 * given interval.
+	 * @param minIntervalMillis The minimum number of milliseconds between
+	 * delivered updates.
+	 * @return The created {@link ProgressThrottle}.
+	 */
+	public static ProgressThrottle perInterval(long minIntervalMillis) {
+		return new ProgressThrottle(minIntervalMillis, 0);
+	}
+
+	/**
+	 * Creates a {@link ProgressThrottle} which delivers at most one update per
+	 * given percentage step.
+	 * @param minPercentStep The minimum change in percentage, between 0 and
+	 * 100, between delivered updates.
+	 * @return The created {@link ProgressThrottle}.
+	 */
+	public static ProgressThrottle perPercentStep(float minPercentStep) {
+		return new ProgressThrottle(0, minPercentStep);
+	}
+
+	/**
+	 * Creates a {@link ProgressThrottle} with the given criteria.
+	 * @param minIntervalMillis The minimum number of milliseconds between
+	 * delivered updates, or zero to disable.
+	 * @param minPercentStep The minimum change in percentage, between 0 and
+	 * 100, between delivered updates, or zero to disable.
+	 */
+	public ProgressThrottle(long minIntervalMillis, float minPercentStep) {
+		this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+		this.minPercentStep = minPercentStep;
+		reset();
+	}
+
+	/**
+	 * Resets this throttle so that the next update will be delivered.
+	 */
+	public void reset() {
+		hasDelivered = false;
+		lastDeliveredNanos = 0;
+		lastDeliveredPercent = 0;
+	}
+
+	/**
+	 * Determines whether the given update should be delivered, and records it
+	 * as delivered if so.
+	 * @param progress The progress values of the update.
+	 * @return True if the update should be delivered, false if it should be
+	 * suppressed.
+	 */
+	public boolean shouldDeliver(Object[] progress) {
+		final long now = System.nanoTime();
+		final float percent = getPercent(progress);
+
+		boolean deliver;
+		if (!hasDelivered) {
+			deliver = true;
+		} else if (minIntervalNanos <= 0 && minPercentStep <= 0) {
+			deliver = true;
+		} else if (percent < 0 && minIntervalNanos <= 0) {
+			// Percentage is all we have to go on but it can't be computed
+			deliver = true;
+		} else if (percent >= 100) {
+			// Always deliver completion
+			deliver = true;
+		} else {
+			deliver = (minIntervalNanos > 0 && now - lastDeliveredNanos >= minIntervalNanos) ||
+					(minPercentStep > 0 && percent >= 0 && Math.abs(percent - lastDeliveredPercent) >= minPercentStep);
+		}
+
+		if (deliver) {
+			hasDelivered = true;
+			lastDeliveredNanos = now;
+			if (percent >= 0) lastDeliveredPercent = percent;
+		}
+		return deliver;
+	}
+
+	/**
+	 * Computes the percentage complete from the given progress values.
+	 * @param progress The progress values.
+	 * @return The percentage between 0 and 100, or -1 if it could not be
+	 * computed.
+	 */
+	private static float getPercent(Object[] progress) {
+		if (progress != null && progress.length >= 2 &&
+				progress[0] instanceof Number && progress[1] instanceof Number) {
+			final double max = ((Number) progress[1]).doubleValue();
+			if (max > 0) {
+				return (float) (((Number) progress[0]).doubleValue() * 100 / max);
+			}
+		}
+		return -1;
+	}
+}
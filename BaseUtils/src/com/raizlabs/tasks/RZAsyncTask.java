@@ -1,8 +1,15 @@
 package com.raizlabs.tasks;
 
+import java.util.concurrent.Executor;
+
 import android.annotation.SuppressLint;
 import android.os.AsyncTask;
 
+import com.raizlabs.concurrent.IOBound;
+import com.raizlabs.concurrent.Prioritized;
+import com.raizlabs.concurrent.PriorityThreadPoolExecutor;
+import com.raizlabs.concurrent.PrioritizedRunnable;
+
 /**
  * Base class for RZAsyncTasks which provides features such as RZAsyncTaskEvents.
  * Subclasses should override doPreExecute(), doProgressUpdate, and doPostExecute() instead of
@@ -14,7 +21,8 @@ import android.os.AsyncTask;
  * @param <Progress>
  * @param <Result>
  */
-public abstract class RZAsyncTask<Params, Progress, Result> extends AsyncTask<Params, Progress, Result> {
+public abstract class RZAsyncTask<Params, Progress, Result> extends AsyncTask<Params, Progress, Result>
+		implements Prioritized {
 	/**
 	 * RZAsyncTaskEvents
 	 */
@@ -26,6 +34,16 @@ public abstract class RZAsyncTask<Params, Progress, Result> extends AsyncTask<Pa
 	public void addRZAsyncTaskListener(RZAsyncTaskListener<Progress, Result> listener) {
 		AsyncTaskEvent.addListener(listener);
 	}
+	/**
+	 * Adds a given RZAsyncTaskListener to be notified of AsyncTaskEvents, but
+	 * only holds a weak reference to it so that it may be garbage collected
+	 * without being removed.
+	 * @see RZAsyncTaskEvent#addWeakListener(RZAsyncTaskListener)
+	 * @param listener
+	 */
+	public void addWeakRZAsyncTaskListener(RZAsyncTaskListener<Progress, Result> listener) {
+		AsyncTaskEvent.addWeakListener(listener);
+	}
 	/**
 	 * Removes a given RZAsyncTaskListener so it will no longer receive these events.
 	 * @param listener
@@ -35,6 +53,23 @@ public abstract class RZAsyncTask<Params, Progress, Result> extends AsyncTask<Pa
 		return AsyncTaskEvent.removeListener(listener);
 	}
 	
+	private int priority = Priority.NORMAL;
+	/**
+	 * Gets the priority of this task. This is used to order this task when it
+	 * is executed on an {@link Executor} which respects {@link Prioritized}
+	 * work, such as a {@link PriorityThreadPoolExecutor}.
+	 * @return The priority of this task.
+	 */
+	public int getPriority() { return priority; }
+	/**
+	 * Sets the priority of this task. This must be called before the task is
+	 * executed to have any effect.
+	 * @see #getPriority()
+	 * @param priority The priority to set, such as one of the values in
+	 * {@link Prioritized.Priority}.
+	 */
+	public void setPriority(int priority) { this.priority = priority; }
+	
 	protected void onCancelled(Result result) {
 		AsyncTaskEvent.raiseCancelled(result);
 	}
@@ -84,6 +119,47 @@ public abstract class RZAsyncTask<Params, Progress, Result> extends AsyncTask<Pa
 		}
 	}
 	
+	/**
+	 * Executes this {@link RZAsyncTask} in parallel on the given
+	 * {@link Executor}. The work submitted to the executor is
+	 * {@link Prioritized} with the priority of this task, so executors such
+	 * as {@link PriorityThreadPoolExecutor} will order it accordingly. If
+	 * this task is {@link IOBound}, so is the submitted work.
+	 * <br><br>
+	 * Uses {@link #executeOnExecutor(Executor, Object...)}
+	 * if {@link #executeInParallelOnThreadPoolExecutor()} returns true, else it will
+	 * execute using {@link #execute(Object...)}.
+	 * @param executor The {@link Executor} to execute on.
+	 * @param values The values to be passed to the task.
+	 * @return This {@link RZAsyncTask}.
+	 */
+	// The values are passed straight through to AsyncTask, as the original
+	// executeInParallel(Object...) does, so the array is never polluted here
+	@SuppressLint("NewApi")
+	@SuppressWarnings("unchecked")
+	public RZAsyncTask<Params, Progress, Result> executeInParallel(final Executor executor, Params...values) {
+		if (executeInParallelOnThreadPoolExecutor()) {
+			final int taskPriority = getPriority();
+			final boolean ioBound = (this instanceof IOBound);
+			// AsyncTask only hands the executor its own internal runnable, so
+			// wrap it to carry our priority and I/O marker
+			executeOnExecutor(new Executor() {
+				@Override
+				public void execute(final Runnable command) {
+					if (ioBound) {
+						executor.execute(new IOBoundTaskRunnable(command, taskPriority));
+					} else {
+						executor.execute(new TaskRunnable(command, taskPriority));
+					}
+				}
+			}, values);
+			return this;
+		} else {
+			execute(values);
+			return this;
+		}
+	}
+	
 	@Override
 	protected final void onPreExecute() {
 		super.onPreExecute();
@@ -113,4 +189,35 @@ public abstract class RZAsyncTask<Params, Progress, Result> extends AsyncTask<Pa
 	}
 	
 	protected void doPostExecute(Result result) { }
+	
+	/**
+	 * Wraps the runnable AsyncTask hands to the executor so that it carries
+	 * the priority of the task.
+	 */
+	private static class TaskRunnable implements PrioritizedRunnable {
+		private final Runnable command;
+		private final int priority;
+		
+		TaskRunnable(Runnable command, int priority) {
+			this.command = command;
+			this.priority = priority;
+		}
+		
+		@Override
+		public int getPriority() { return priority; }
+		
+		@Override
+		public void run() { command.run(); }
+	}
+	
+	/**
+	 * {@link TaskRunnable} for tasks which are {@link IOBound}, so executors
+	 * such as {@link com.raizlabs.concurrent.WorkloadExecutor} still see the
+	 * marker.
+	 */
+	private static class IOBoundTaskRunnable extends TaskRunnable implements IOBound {
+		IOBoundTaskRunnable(Runnable command, int priority) {
+			super(command, priority);
+		}
+	}
 }
@@ -0,0 +1,263 @@
+package com.raizlabs.tasks;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import android.os.AsyncTask;
+
+import com.raizlabs.functions.Delegate;
+import com.raizlabs.functions.Provider;
+
+/**
+ * Class which deduplicates and memoizes {@link RZAsyncTask}s by key. When a
+ * task is requested for a key which already has a task running, the caller is
+ * attached to the running task instead of starting another. When a task
+ * completes, its result is cached for a limited time and handed to any
+ * subsequent callers for the same key without running a task at all.
+ * <br><br>
+ * This class should only be used from the UI thread, which is also where
+ * {@link RZAsyncTask}s report their results.
+ *
+ * @param <Key> The type of the keys which identify equivalent tasks.
+ * @param <Progress> The Progress type of the tasks.
+ * @param <Result> The Result type of the tasks.
+ */
+public class RZAsyncTaskCache<Key, Progress, Result> {
+
+	/**
+	 * Starts tasks via {@link RZAsyncTask#executeInParallel()}.
+	 */
+	private static final Delegate<RZAsyncTask<?, ?, ?>> PARALLEL_STARTER = new Delegate<RZAsyncTask<?, ?, ?>>() {
+		@Override
+		public void execute(RZAsyncTask<?, ?, ?> task) {
+			task.executeInParallel();
+		}
+	};
+
+	private final long ttlNanos;
+	private final HashMap<Key, RZAsyncTask<?, Progress, Result>> runningTasks;
+	private final LinkedHashMap<Key, CachedResult<Result>> results;
+
+	/**
+	 * Constructs an {@link RZAsyncTaskCache} which caches an unlimited number
+	 * of results for the given duration.
+	 * @param ttl How long results remain valid after their task completes.
+	 * Zero disables result caching, so only running tasks are shared.
+	 * @param unit The unit of the ttl.
+	 */
+	public RZAsyncTaskCache(long ttl, TimeUnit unit) {
+		this(ttl, unit, 0);
+	}
+
+	/**
+	 * Constructs an {@link RZAsyncTaskCache} which caches results for the given
+	 * duration.
+	 * @param ttl How long results remain valid after their task completes.
+	 * Zero disables result caching, so only running tasks are shared.
+	 * @param unit The unit of the ttl.
+	 * @param maxResults The maximum number of results to cache, evicting the
+	 * least recently used first, or zero for no limit.
+	 */
+	public RZAsyncTaskCache(long ttl, TimeUnit unit, final int maxResults) {
+		this.ttlNanos = unit.toNanos(ttl);
+		this.runningTasks = new HashMap<Key, RZAsyncTask<?, Progress, Result>>();
+		this.results = new LinkedHashMap<Key, CachedResult<Result>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 4178236522962374185L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedResult<Result>> eldest) {
+				return maxResults > 0 && size() > maxResults;
+			}
+		};
+	}
+
+	/**
+	 * Obtains the result for the given key, notifying the given listener. New
+	 * tasks are started via {@link RZAsyncTask#executeInParallel()}.
+	 * @see #executeWithStarter(Object, Provider, Delegate, RZAsyncTaskListener)
+	 * @param key The key which identifies the task.
+	 * @param taskProvider The {@link Provider} to obtain a new task from if
+	 * one needs to be run.
+	 * @param listener The listener to notify of the result. May be null.
+	 * @return The task which will deliver the result, or null if the result
+	 * was delivered from the cache.
+	 */
+	public RZAsyncTask<?, Progress, Result> execute(Key key,
+			Provider<? extends RZAsyncTask<?, Progress, Result>> taskProvider,
+			RZAsyncTaskListener<Progress, Result> listener) {
+		return executeWithStarter(key, taskProvider, PARALLEL_STARTER, listener);
+	}
+
+	/**
+	 * Obtains the result for the given key, notifying the given listener. New
+	 * tasks are started in parallel on the given {@link Executor}, with no
+	 * parameters.
+	 * @see #executeWithStarter(Object, Provider, Delegate, RZAsyncTaskListener)
+	 * @param key The key which identifies the task.
+	 * @param taskProvider The {@link Provider} to obtain a new task from if
+	 * one needs to be run.
+	 * @param executor The {@link Executor} to run new tasks on.
+	 * @param listener The listener to notify of the result. May be null.
+	 * @return The task which will deliver the result, or null if the result
+	 * was delivered from the cache.
+	 */
+	public RZAsyncTask<?, Progress, Result> execute(Key key,
+			Provider<? extends RZAsyncTask<?, Progress, Result>> taskProvider,
+			final Executor executor, RZAsyncTaskListener<Progress, Result> listener) {
+		return executeWithStarter(key, taskProvider, new Delegate<RZAsyncTask<?, ?, ?>>() {
+			@Override
+			public void execute(RZAsyncTask<?, ?, ?> task) {
+				executeInParallel(task, executor);
+			}
+		}, listener);
+	}
+
+	/**
+	 * Obtains the result for the given key, notifying the given listener.
+	 * <ul>
+	 * <li>If a valid result is cached, the listener's
+	 * {@link RZAsyncTaskListener#onPostExecute(Object)} is called before this
+	 * returns.</li>
+	 * <li>If a task is already running for the key, the listener is attached
+	 * to it.</li>
+	 * <li>Otherwise, a new task is obtained from the given {@link Provider},
+	 * the listener is attached, and the task is started by the given
+	 * {@link Delegate}. This lets callers choose the parameters and executor.
+	 * If the provided task has already been started, it is not started
+	 * again.</li>
+	 * </ul>
+	 * @param key The key which identifies the task.
+	 * @param taskProvider The {@link Provider} to obtain a new task from if
+	 * one needs to be run.
+	 * @param taskStarter The {@link Delegate} which starts new tasks.
+	 * @param listener The listener to notify of the result. May be null.
+	 * @return The task which will deliver the result, or null if the result
+	 * was delivered from the cache.
+	 * @throws IllegalArgumentException if the provided task has already
+	 * finished.
+	 */
+	public RZAsyncTask<?, Progress, Result> executeWithStarter(final Key key,
+			Provider<? extends RZAsyncTask<?, Progress, Result>> taskProvider,
+			Delegate<? super RZAsyncTask<?, Progress, Result>> taskStarter,
+			RZAsyncTaskListener<Progress, Result> listener) {
+		CachedResult<Result> cached = getValidResult(key);
+		if (cached != null) {
+			if (listener != null) listener.onPostExecute(cached.result);
+			return null;
+		}
+
+		RZAsyncTask<?, Progress, Result> task = runningTasks.get(key);
+		if (task != null) {
+			if (listener != null) task.addRZAsyncTaskListener(listener);
+			return task;
+		}
+
+		task = taskProvider.obtainProvided();
+		if (task.getStatus() == AsyncTask.Status.FINISHED) {
+			// Its result has already been delivered, so we'd never hear it
+			throw new IllegalArgumentException("Provided task has already finished");
+		}
+		final RZAsyncTask<?, Progress, Result> newTask = task;
+		runningTasks.put(key, newTask);
+		// Register our listener first so the result is cached before any
+		// caller hears about it
+		newTask.addRZAsyncTaskListener(new RZAsyncTaskListener<Progress, Result>() {
+			@Override
+			public void onPostExecute(Result result) {
+				if (runningTasks.get(key) == newTask) {
+					runningTasks.remove(key);
+					if (ttlNanos > 0) {
+						pruneExpiredResults();
+						results.put(key, new CachedResult<Result>(result, System.nanoTime() + ttlNanos));
+					}
+				}
+			}
+
+			@Override
+			public void onCancelled(Result result) {
+				if (runningTasks.get(key) == newTask) {
+					runningTasks.remove(key);
+				}
+			}
+		});
+		if (listener != null) newTask.addRZAsyncTaskListener(listener);
+		// Tasks the provider already started are results in progress too
+		if (newTask.getStatus() == AsyncTask.Status.PENDING) {
+			taskStarter.execute(newTask);
+		}
+		return newTask;
+	}
+
+	/**
+	 * Gets the cached result for the given key, if there is a valid one.
+	 * @param key The key to look up.
+	 * @return The cached result, or null if none is cached or it has expired.
+	 */
+	public Result getCachedResult(Key key) {
+		CachedResult<Result> cached = getValidResult(key);
+		return (cached != null) ? cached.result : null;
+	}
+
+	/**
+	 * @param key The key to look up.
+	 * @return True if a task is currently running for the given key.
+	 */
+	public boolean isRunning(Key key) {
+		return runningTasks.containsKey(key);
+	}
+
+	/**
+	 * Removes any cached result for the given key, so the next request will
+	 * run a new task. This does not affect a task which is already running.
+	 * @param key The key to invalidate.
+	 */
+	public void invalidate(Key key) {
+		results.remove(key);
+	}
+
+	/**
+	 * Removes all cached results. This does not affect running tasks.
+	 */
+	public void clearResults() {
+		results.clear();
+	}
+
+	private CachedResult<Result> getValidResult(Key key) {
+		CachedResult<Result> cached = results.get(key);
+		if (cached != null && cached.expirationNanos - System.nanoTime() <= 0) {
+			results.remove(key);
+			return null;
+		}
+		return cached;
+	}
+
+	private static <Params> void executeInParallel(RZAsyncTask<Params, ?, ?> task, Executor executor) {
+		task.executeInParallel(executor, (Params[]) null);
+	}
+
+	/**
+	 * Removes all expired results, so results which are never requested
+	 * again don't accumulate.
+	 */
+	private void pruneExpiredResults() {
+		final long now = System.nanoTime();
+		Iterator<CachedResult<Result>> iter = results.values().iterator();
+		while (iter.hasNext()) {
+			if (iter.next().expirationNanos - now <= 0) iter.remove();
+		}
+	}
+
+	private static class CachedResult<Result> {
+		final Result result;
+		final long expirationNanos;
+
+		CachedResult(Result result, long expirationNanos) {
+			this.result = result;
+			this.expirationNanos = expirationNanos;
+		}
+	}
+}
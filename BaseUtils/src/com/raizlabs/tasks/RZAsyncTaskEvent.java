@@ -1,22 +1,52 @@
 package com.raizlabs.tasks;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Class which represents Events for {@link RZAsyncTask}s.
+ * <br><br>
+ * Listeners are stored in a copy-on-write list, so events are raised without
+ * taking any locks and listeners may be added or removed while an event is
+ * being raised. Progress updates may be limited by setting a
+ * {@link ProgressThrottle}.
  * @author Dylan James
  *
  * @param <Result> The Result type of the {@link RZAsyncTask}.
  */
 public class RZAsyncTaskEvent<Progress, Result> {
-	private List<RZAsyncTaskListener<Progress, Result>> listeners;
+	private CopyOnWriteArrayList<ListenerReference<Progress, Result>> listeners;
+
+	private volatile ProgressThrottle progressThrottle;
+	/**
+	 * The most recent progress which was suppressed by the throttle and has
+	 * not yet been delivered.
+	 */
+	private volatile Progress[] suppressedProgress;
 
 	/**
 	 * Creates a new RZAsyncTaskEvent.
 	 */
 	public RZAsyncTaskEvent() {
-		listeners = new LinkedList<RZAsyncTaskListener<Progress, Result>>();
+		listeners = new CopyOnWriteArrayList<ListenerReference<Progress, Result>>();
+	}
+
+	/**
+	 * Sets the {@link ProgressThrottle} which limits how often progress is
+	 * delivered to listeners.
+	 * @param throttle The {@link ProgressThrottle} to use, or null to deliver
+	 * every update.
+	 */
+	public void setProgressThrottle(ProgressThrottle throttle) {
+		this.progressThrottle = throttle;
+	}
+
+	/**
+	 * @return The {@link ProgressThrottle} which limits how often progress is
+	 * delivered to listeners, or null if every update is delivered.
+	 */
+	public ProgressThrottle getProgressThrottle() {
+		return progressThrottle;
 	}
 
 	/**
@@ -25,9 +55,21 @@ public class RZAsyncTaskEvent<Progress, Result> {
 	 */
 	public void addListener(RZAsyncTaskListener<Progress, Result> listener) {
 		if (listener != null) {
-			synchronized (listeners) {
-				listeners.add(listener);
-			}
+			listeners.add(new ListenerReference<Progress, Result>(listener, false));
+		}
+	}
+
+	/**
+	 * Adds an RZAsyncTaskListener to be notified when AsyncTaskEvents happen,
+	 * but only holds a weak reference to it. The listener will be dropped once
+	 * it is garbage collected, so it does not need to be removed to avoid
+	 * leaking it, but the caller must keep its own reference for as long as
+	 * it should be notified.
+	 * @param listener The listener to be notified.
+	 */
+	public void addWeakListener(RZAsyncTaskListener<Progress, Result> listener) {
+		if (listener != null) {
+			listeners.add(new ListenerReference<Progress, Result>(listener, true));
 		}
 	}
 
@@ -38,14 +80,25 @@ public class RZAsyncTaskEvent<Progress, Result> {
 	 * @return True if the listener was removed, false if it wasn't found.
 	 */
 	public boolean removeListener(RZAsyncTaskListener<Progress, Result> listener) {
-		synchronized (listeners) {
-			return listeners.remove(listener);
+		for (ListenerReference<Progress, Result> reference : listeners) {
+			RZAsyncTaskListener<Progress, Result> current = reference.get();
+			if (current == null) {
+				// Prune collected listeners while we're here
+				listeners.remove(reference);
+			} else if (current.equals(listener)) {
+				return listeners.remove(reference);
+			}
 		}
+		return false;
 	}
 
 	public void raiseCancelled(Result result) {
-		synchronized (listeners) {
-			for (RZAsyncTaskListener<Progress, Result> listener : listeners) {
+		flushProgress();
+		for (ListenerReference<Progress, Result> reference : listeners) {
+			RZAsyncTaskListener<Progress, Result> listener = reference.get();
+			if (listener == null) {
+				listeners.remove(reference);
+			} else {
 				listener.onCancelled(result);
 			}
 		}
@@ -57,34 +110,99 @@ public class RZAsyncTaskEvent<Progress, Result> {
 	 * @param isInstant true if the task will be fast.
 	 */
 	public void raisePreExecute(boolean isInstant) {
-		synchronized (listeners) {
-			for (RZAsyncTaskListener<Progress, Result> listener : listeners) {
+		ProgressThrottle throttle = progressThrottle;
+		if (throttle != null) throttle.reset();
+		suppressedProgress = null;
+
+		for (ListenerReference<Progress, Result> reference : listeners) {
+			RZAsyncTaskListener<Progress, Result> listener = reference.get();
+			if (listener == null) {
+				listeners.remove(reference);
+			} else {
 				listener.onPreExecute(isInstant);
 			}
 		}
 	}
 
 	/**
-	 * Raises the PostExecute event on all listeners.
+	 * Raises the PostExecute event on all listeners. Any progress which was
+	 * suppressed by the {@link ProgressThrottle} is delivered first.
 	 * @param result The result arguments to be passed to the listeners.
 	 */
 	public void raisePostExecute(Result result) {
-		synchronized (listeners) {
-			for (RZAsyncTaskListener<Progress, Result> listener : listeners) {
+		flushProgress();
+		for (ListenerReference<Progress, Result> reference : listeners) {
+			RZAsyncTaskListener<Progress, Result> listener = reference.get();
+			if (listener == null) {
+				listeners.remove(reference);
+			} else {
 				listener.onPostExecute(result);
 			}
 		}
 	}
 
 	/**
-	 * Publishes progress to all listeners.
+	 * Publishes progress to all listeners, unless it is suppressed by the
+	 * current {@link ProgressThrottle}.
 	 * @param progress The progress to be passed to the listeners.
 	 */
 	public void publishProgress(Progress... progress) {
-		synchronized (listeners) {
-			for (RZAsyncTaskListener<Progress, Result> listener: listeners) {
+		ProgressThrottle throttle = progressThrottle;
+		if (throttle != null && !throttle.shouldDeliver(progress)) {
+			suppressedProgress = progress;
+			return;
+		}
+
+		suppressedProgress = null;
+		deliverProgress(progress);
+	}
+
+	/**
+	 * Delivers the most recent progress which was suppressed by the
+	 * {@link ProgressThrottle}, if there is one.
+	 */
+	public void flushProgress() {
+		Progress[] progress = suppressedProgress;
+		if (progress != null) {
+			suppressedProgress = null;
+			deliverProgress(progress);
+		}
+	}
+
+	private void deliverProgress(Progress[] progress) {
+		for (ListenerReference<Progress, Result> reference : listeners) {
+			RZAsyncTaskListener<Progress, Result> listener = reference.get();
+			if (listener == null) {
+				listeners.remove(reference);
+			} else {
 				listener.onUpdateProgress(progress);
 			}
 		}
 	}
+
+	/**
+	 * Holds either a strong or a weak reference to a listener.
+	 */
+	private static class ListenerReference<Progress, Result> {
+		private final RZAsyncTaskListener<Progress, Result> listener;
+		private final WeakReference<RZAsyncTaskListener<Progress, Result>> listenerRef;
+
+		ListenerReference(RZAsyncTaskListener<Progress, Result> listener, boolean weak) {
+			if (weak) {
+				this.listener = null;
+				this.listenerRef = new WeakReference<RZAsyncTaskListener<Progress, Result>>(listener);
+			} else {
+				this.listener = listener;
+				this.listenerRef = null;
+			}
+		}
+
+		/**
+		 * @return The listener, or null if it was weakly referenced and has
+		 * been garbage collected.
+		 */
+		RZAsyncTaskListener<Progress, Result> get() {
+			return (listenerRef != null) ? listenerRef.get() : listener;
+		}
+	}
 }
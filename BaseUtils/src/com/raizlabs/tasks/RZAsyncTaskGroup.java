@@ -0,0 +1,251 @@
+package com.raizlabs.tasks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import android.os.AsyncTask;
+
+import com.raizlabs.events.Event;
+
+/**
+ * Class which groups related {@link RZAsyncTask}s so that they may be awaited
+ * or cancelled together. A typical use is for a lifecycle owner, such as an
+ * Activity, to launch all of its tasks through a group and call
+ * {@link #cancelAll(boolean)} when it is destroyed.
+ * <br><br>
+ * The group only references tasks until they finish, so finished tasks and
+ * their results are not retained.
+ */
+public class RZAsyncTaskGroup {
+
+	private final LinkedHashSet<RZAsyncTask<?, ?, ?>> outstandingTasks;
+	private final Event<RZAsyncTaskGroup> completedEvent;
+	private boolean cancelled;
+
+	/**
+	 * Constructs an empty {@link RZAsyncTaskGroup}.
+	 */
+	public RZAsyncTaskGroup() {
+		outstandingTasks = new LinkedHashSet<RZAsyncTask<?, ?, ?>>();
+		completedEvent = new Event<RZAsyncTaskGroup>();
+		cancelled = false;
+	}
+
+	/**
+	 * @return The {@link Event} which is raised on the UI thread whenever the
+	 * last outstanding task in this group finishes or is cancelled.
+	 */
+	public Event<RZAsyncTaskGroup> getCompletedEvent() {
+		return completedEvent;
+	}
+
+	/**
+	 * Adds the given task to this group without executing it. The task will
+	 * be tracked until it finishes or is cancelled. If this group has been
+	 * cancelled, the task will be cancelled immediately.
+	 * <br><br>
+	 * Tasks which have already finished or been cancelled will never report
+	 * back to this group, so they are not tracked.
+	 * @param task The task to add.
+	 * @return The given task.
+	 */
+	public <Params, Progress, Result> RZAsyncTask<Params, Progress, Result> add(
+			final RZAsyncTask<Params, Progress, Result> task) {
+		synchronized (this) {
+			if (cancelled) {
+				task.cancel(true);
+				return task;
+			}
+			if (task.isCancelled() || task.getStatus() == AsyncTask.Status.FINISHED) {
+				return task;
+			}
+			outstandingTasks.add(task);
+		}
+
+		task.addRZAsyncTaskListener(new RZAsyncTaskListener<Progress, Result>() {
+			@Override
+			public void onPostExecute(Result result) {
+				onTaskFinished(task);
+			}
+
+			@Override
+			public void onCancelled(Result result) {
+				onTaskFinished(task);
+			}
+		});
+
+		// The task may have finished before our listener was added, in which
+		// case it will never call it
+		if (task.getStatus() == AsyncTask.Status.FINISHED) {
+			onTaskFinished(task);
+		}
+		return task;
+	}
+
+	/**
+	 * Adds the given task to this group and executes it via
+	 * {@link RZAsyncTask#executeInParallel(Object...)}.
+	 * @param task The task to add and execute.
+	 * @param values The values to be passed to the task.
+	 * @return The given task.
+	 */
+	// The values are only handed on to the task, never stored in or read
+	// from the varargs array, so it can't be polluted
+	@SuppressWarnings("unchecked")
+	public <Params, Progress, Result> RZAsyncTask<Params, Progress, Result> executeInParallel(
+			RZAsyncTask<Params, Progress, Result> task, Params... values) {
+		add(task);
+		if (!task.isCancelled()) task.executeInParallel(values);
+		return task;
+	}
+
+	/**
+	 * Adds the given task to this group and executes it via
+	 * {@link RZAsyncTask#executeInParallel(Executor, Object...)}.
+	 * @param executor The {@link Executor} to execute the task on.
+	 * @param task The task to add and execute.
+	 * @param values The values to be passed to the task.
+	 * @return The given task.
+	 */
+	// See executeInParallel(RZAsyncTask, Object...)
+	@SuppressWarnings("unchecked")
+	public <Params, Progress, Result> RZAsyncTask<Params, Progress, Result> executeInParallel(
+			Executor executor, RZAsyncTask<Params, Progress, Result> task, Params... values) {
+		add(task);
+		if (!task.isCancelled()) task.executeInParallel(executor, values);
+		return task;
+	}
+
+	private void onTaskFinished(RZAsyncTask<?, ?, ?> task) {
+		boolean completed;
+		synchronized (this) {
+			completed = outstandingTasks.remove(task) && outstandingTasks.isEmpty();
+		}
+		if (completed) {
+			completedEvent.raiseEvent(this, this);
+		}
+	}
+
+	/**
+	 * @return The number of tasks in this group which have not yet finished.
+	 */
+	public int getOutstandingCount() {
+		synchronized (this) {
+			return outstandingTasks.size();
+		}
+	}
+
+	/**
+	 * @return True if {@link #cancelAll(boolean)} has been called.
+	 */
+	public boolean isCancelled() {
+		synchronized (this) {
+			return cancelled;
+		}
+	}
+
+	/**
+	 * Cancels every outstanding task in this group and stops tracking them.
+	 * Any tasks added after this call will be cancelled immediately. The
+	 * completed event is not raised as a result of this call.
+	 * @param mayInterruptIfRunning True if the threads executing the tasks
+	 * should be interrupted.
+	 */
+	public void cancelAll(boolean mayInterruptIfRunning) {
+		List<RZAsyncTask<?, ?, ?>> tasks;
+		synchronized (this) {
+			cancelled = true;
+			tasks = new ArrayList<RZAsyncTask<?, ?, ?>>(outstandingTasks);
+			// Tasks which were never executed won't report being cancelled,
+			// so stop tracking everything now
+			outstandingTasks.clear();
+		}
+
+		for (RZAsyncTask<?, ?, ?> task : tasks) {
+			task.cancel(mayInterruptIfRunning);
+		}
+	}
+
+	/**
+	 * Blocks until every task which is currently outstanding in this group has
+	 * finished or been cancelled. The results may then be retrieved from the
+	 * tasks themselves. This must not be called on the UI thread.
+	 * <br><br>
+	 * Tasks which were added but never executed would never finish, so every
+	 * outstanding task must have been executed before this is called.
+	 * @return True if every task completed, false if any were cancelled or
+	 * failed.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 * @throws IllegalStateException if an outstanding task hasn't been
+	 * executed.
+	 */
+	public boolean awaitAll() throws InterruptedException {
+		boolean allCompleted = true;
+		for (RZAsyncTask<?, ?, ?> task : getExecutedOutstandingTasks()) {
+			try {
+				task.get();
+			} catch (CancellationException e) {
+				allCompleted = false;
+			} catch (ExecutionException e) {
+				allCompleted = false;
+			}
+		}
+		return allCompleted;
+	}
+
+	/**
+	 * Blocks until every task which is currently outstanding in this group has
+	 * finished or been cancelled, or until the given timeout elapses. This
+	 * must not be called on the UI thread.
+	 * @see #awaitAll()
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if every task completed, false if any were cancelled or
+	 * failed.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 * @throws TimeoutException if the timeout elapsed before every task
+	 * finished.
+	 * @throws IllegalStateException if an outstanding task hasn't been
+	 * executed.
+	 */
+	public boolean awaitAll(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		boolean allCompleted = true;
+		for (RZAsyncTask<?, ?, ?> task : getExecutedOutstandingTasks()) {
+			try {
+				task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (CancellationException e) {
+				allCompleted = false;
+			} catch (ExecutionException e) {
+				allCompleted = false;
+			}
+		}
+		return allCompleted;
+	}
+
+	/**
+	 * Gets the outstanding tasks to wait on, failing fast if any were never
+	 * executed, since waiting on them would block forever.
+	 */
+	private List<RZAsyncTask<?, ?, ?>> getExecutedOutstandingTasks() {
+		List<RZAsyncTask<?, ?, ?>> tasks;
+		synchronized (this) {
+			tasks = new ArrayList<RZAsyncTask<?, ?, ?>>(outstandingTasks);
+		}
+
+		for (RZAsyncTask<?, ?, ?> task : tasks) {
+			if (task.getStatus() == AsyncTask.Status.PENDING) {
+				throw new IllegalStateException("Tried to await a task which was added but never executed");
+			}
+		}
+		return tasks;
+	}
+}
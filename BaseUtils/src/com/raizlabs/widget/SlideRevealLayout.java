@@ -201,14 +201,18 @@ public class SlideRevealLayout extends RelativeLayout {
 		forceUpdate();
 	}
 	
+	private final Runnable openRunnable = new Runnable() {
+		@Override
+		public void run() {
+			open();
+		}
+	};
+	
 	protected void forceUpdate() {
 		if (open) {
-			post(new Runnable() {
-				@Override
-				public void run() {				
-					open();
-				}
-			});
+			// Replace any pending update instead of queueing another
+			removeCallbacks(openRunnable);
+			post(openRunnable);
 		}
 	}
 	
@@ -9,6 +9,7 @@ import java.util.ListIterator;
 
 import com.raizlabs.baseutils.ThreadingUtils;
 import com.raizlabs.events.EventListener;
+import com.raizlabs.metrics.LibraryMetrics;
 import com.raizlabs.util.observable.ObservableList;
 
 import android.widget.Adapter;
@@ -126,10 +127,19 @@ public abstract class ListBasedAdapter<T> extends BaseAdapter implements List<T>
 		}
 	};
 	/**
-	 * Calls {@link #notifyDataSetChangedOnUIThread()} on the UI thread.
+	 * Calls {@link #notifyDataSetChanged()} on the UI thread. If this is
+	 * called from a background thread, repeated calls are coalesced into one
+	 * notification.
 	 */
 	public void notifyDataSetChangedOnUIThread() {
-		ThreadingUtils.runOnUIThread(dataSetChangedRunnable);
+		if (LibraryMetrics.isEnabled()) LibraryMetrics.ADAPTER_NOTIFY_REQUESTS.increment();
+		ThreadingUtils.runOnUIThreadCoalesced(dataSetChangedRunnable, dataSetChangedRunnable);
+	}
+	
+	@Override
+	public void notifyDataSetChanged() {
+		if (LibraryMetrics.isEnabled()) LibraryMetrics.ADAPTER_NOTIFICATIONS.increment();
+		super.notifyDataSetChanged();
 	}
 	
 	@Override
@@ -0,0 +1,78 @@
+package com.raizlabs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.raizlabs.events.Event;
+import com.raizlabs.events.EventListener;
+
+/**
+ * Benchmarks raising an {@link Event} to listeners which are called on the
+ * raising thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+
+	@Param({"0", "1", "10"})
+	public int listenerCount;
+
+	private Event<Integer> event;
+	private Event<Integer> weakEvent;
+	private Integer args;
+	// Holds the weak listeners so they aren't collected mid-run
+	private EventListener<Integer>[] weakListeners;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp(final Blackhole blackhole) {
+		event = new Event<Integer>();
+		weakEvent = new Event<Integer>();
+		weakListeners = new EventListener[listenerCount];
+		for (int i = 0; i < listenerCount; i++) {
+			event.addListener(new ConsumingListener(blackhole));
+			weakListeners[i] = new ConsumingListener(blackhole);
+			weakEvent.addWeakListener(weakListeners[i]);
+		}
+		args = Integer.valueOf(42);
+	}
+
+	@Benchmark
+	public void raiseEvent() {
+		event.raiseEvent(this, args);
+	}
+
+	@Benchmark
+	public void raiseEventWeak() {
+		weakEvent.raiseEvent(this, args);
+	}
+
+	private static class ConsumingListener implements EventListener<Integer> {
+		private final Blackhole blackhole;
+
+		ConsumingListener(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void onEvent(Object sender, Integer args) {
+			blackhole.consume(args);
+		}
+	}
+}
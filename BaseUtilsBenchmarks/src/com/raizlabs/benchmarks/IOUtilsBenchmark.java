@@ -0,0 +1,57 @@
+package com.raizlabs.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.raizlabs.baseutils.IOUtils;
+
+/**
+ * Benchmarks copying and reading in-memory streams through {@link IOUtils},
+ * which isolates the buffering overhead from any real I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IOUtilsBenchmark {
+
+	@Param({"1024", "1048576"})
+	public int size;
+
+	private byte[] data;
+	private ByteArrayOutputStream output;
+
+	@Setup
+	public void setUp() {
+		data = new byte[size];
+		new Random(42).nextBytes(data);
+		output = new ByteArrayOutputStream(size);
+	}
+
+	@Benchmark
+	public boolean copyStream() {
+		output.reset();
+		return IOUtils.copyStream(new ByteArrayInputStream(data), output);
+	}
+
+	@Benchmark
+	public byte[] readStreamBytes() {
+		return IOUtils.readStreamBytes(new ByteArrayInputStream(data));
+	}
+}
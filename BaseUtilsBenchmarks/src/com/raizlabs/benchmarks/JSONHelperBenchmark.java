@@ -0,0 +1,66 @@
+package com.raizlabs.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.raizlabs.json.JSONArrayParserDelegate;
+import com.raizlabs.json.JSONHelper;
+
+/**
+ * Benchmarks {@link JSONHelper#parseJSONArray(JSONArray, JSONArrayParserDelegate)}
+ * over an array of small objects. The JSON itself is parsed during setup, so
+ * only the iteration and delegate calls are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONHelperBenchmark {
+
+	private static final JSONArrayParserDelegate<String> NAME_PARSER = new JSONArrayParserDelegate<String>() {
+		@Override
+		public String parseObject(JSONObject json) {
+			return json.optString("name", null);
+		}
+	};
+
+	@Param({"10", "1000"})
+	public int size;
+
+	private JSONArray array;
+
+	@Setup
+	public void setUp() throws JSONException {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) builder.append(',');
+			builder.append("{\"id\":").append(i)
+				.append(",\"name\":\"Item ").append(i)
+				.append("\",\"enabled\":true}");
+		}
+		builder.append(']');
+		array = new JSONArray(builder.toString());
+	}
+
+	@Benchmark
+	public List<String> parseJSONArray() {
+		return JSONHelper.parseJSONArray(array, NAME_PARSER);
+	}
+}
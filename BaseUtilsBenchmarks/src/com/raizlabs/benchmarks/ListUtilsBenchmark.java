@@ -0,0 +1,78 @@
+package com.raizlabs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.raizlabs.collections.ListUtils;
+import com.raizlabs.functions.Predicate;
+
+/**
+ * Benchmarks {@link ListUtils#filter(List, Predicate)} removing every other
+ * item from a list.
+ * <br><br>
+ * Filtering consumes the list, so each call needs a fresh one. Rather than
+ * setting one up per call, which would distort timings this small, each
+ * measurement is a single shot over a batch of {@link #BATCH_SIZE} lists
+ * prepared beforehand. Scores are for the whole batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = ListUtilsBenchmark.BATCH_SIZE)
+@Measurement(iterations = 50, batchSize = ListUtilsBenchmark.BATCH_SIZE)
+@Fork(1)
+public class ListUtilsBenchmark {
+
+	static final int BATCH_SIZE = 100;
+
+	private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+		@Override
+		public boolean evaluate(Integer item) {
+			return (item.intValue() & 1) == 0;
+		}
+	};
+
+	@Param({"100", "10000"})
+	public int size;
+
+	@Param({"ArrayList", "LinkedList"})
+	public String listType;
+
+	private List<List<Integer>> lists;
+	private int nextList;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		lists = new ArrayList<List<Integer>>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			List<Integer> list = "LinkedList".equals(listType) ? new LinkedList<Integer>() : new ArrayList<Integer>(size);
+			for (int j = 0; j < size; j++) {
+				list.add(Integer.valueOf(j));
+			}
+			lists.add(list);
+		}
+		nextList = 0;
+	}
+
+	@Benchmark
+	public List<Integer> filter() {
+		List<Integer> list = lists.get(nextList++);
+		ListUtils.filter(list, IS_EVEN);
+		return list;
+	}
+}
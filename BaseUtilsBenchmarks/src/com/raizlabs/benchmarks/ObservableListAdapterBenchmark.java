@@ -0,0 +1,110 @@
+package com.raizlabs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.raizlabs.events.EventListener;
+import com.raizlabs.util.observable.ObservableList;
+import com.raizlabs.util.observable.ObservableListAdapter;
+
+/**
+ * Benchmarks mutating an {@link ObservableListAdapter} which has a listener,
+ * both one change at a time and batched in a transaction, so the cost of the
+ * notifications can be compared against the cost of the changes.
+ * <br><br>
+ * Each call needs an empty adapter. Rather than setting one up per call,
+ * which would distort timings this small, each measurement is a single shot
+ * over a batch of {@link #BATCH_SIZE} adapters prepared beforehand. Scores
+ * are for the whole batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = ObservableListAdapterBenchmark.BATCH_SIZE)
+@Measurement(iterations = 50, batchSize = ObservableListAdapterBenchmark.BATCH_SIZE)
+@Fork(1)
+public class ObservableListAdapterBenchmark {
+
+	static final int BATCH_SIZE = 100;
+
+	@Param({"100", "1000"})
+	public int size;
+
+	@Param({"ArrayList", "LinkedList"})
+	public String listType;
+
+	private List<ObservableListAdapter<Integer>> adapters;
+	private int nextAdapter;
+	private List<Integer> replacement;
+
+	@Setup(Level.Iteration)
+	public void setUp(final Blackhole blackhole) {
+		final EventListener<ObservableList<Integer>> listener = new EventListener<ObservableList<Integer>>() {
+			@Override
+			public void onEvent(Object sender, ObservableList<Integer> args) {
+				blackhole.consume(args);
+			}
+		};
+
+		adapters = new ArrayList<ObservableListAdapter<Integer>>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			ObservableListAdapter<Integer> adapter = new ObservableListAdapter<Integer>(createList());
+			adapter.getDataChangedEvent().addListener(listener);
+			adapters.add(adapter);
+		}
+		nextAdapter = 0;
+
+		replacement = createList();
+		for (int i = 0; i < size; i++) {
+			replacement.add(Integer.valueOf(i));
+		}
+	}
+
+	private List<Integer> createList() {
+		if ("LinkedList".equals(listType)) return new LinkedList<Integer>();
+		return new ArrayList<Integer>();
+	}
+
+	@Benchmark
+	public ObservableListAdapter<Integer> addEach() {
+		ObservableListAdapter<Integer> adapter = adapters.get(nextAdapter++);
+		for (int i = 0; i < size; i++) {
+			adapter.add(Integer.valueOf(i));
+		}
+		return adapter;
+	}
+
+	@Benchmark
+	public ObservableListAdapter<Integer> addInTransaction() {
+		ObservableListAdapter<Integer> adapter = adapters.get(nextAdapter++);
+		adapter.beginTransaction();
+		for (int i = 0; i < size; i++) {
+			adapter.add(Integer.valueOf(i));
+		}
+		adapter.endTransaction();
+		return adapter;
+	}
+
+	@Benchmark
+	public ObservableListAdapter<Integer> replaceContents() {
+		ObservableListAdapter<Integer> adapter = adapters.get(nextAdapter++);
+		adapter.replaceContents(replacement);
+		return adapter;
+	}
+}
@@ -0,0 +1,49 @@
+package com.raizlabs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.raizlabs.baseutils.StringUtils;
+
+/**
+ * Benchmarks {@link StringUtils#join(String, Iterable)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+	@Param({"10", "1000"})
+	public int size;
+
+	private List<String> items;
+
+	@Setup
+	public void setUp() {
+		items = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			items.add("item" + i);
+		}
+	}
+
+	@Benchmark
+	public String join() {
+		return StringUtils.join(", ", items);
+	}
+}
@@ -0,0 +1,85 @@
+package com.raizlabs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.raizlabs.collections.TransactionalHashSet;
+
+/**
+ * Benchmarks a shared {@link TransactionalHashSet} which several threads
+ * modify at once, both directly and while another thread runs transactions
+ * around its own batches of changes.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionalHashSetBenchmark {
+
+	private static final int KEY_COUNT = 1024;
+	private static final int BATCH_SIZE = 16;
+
+	private TransactionalHashSet<Integer> set;
+	private Integer[] keys;
+
+	@Setup
+	public void setUp() {
+		set = new TransactionalHashSet<Integer>();
+		keys = new Integer[KEY_COUNT];
+		for (int i = 0; i < KEY_COUNT; i++) {
+			keys[i] = Integer.valueOf(i);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+
+		Integer nextKey(Integer[] keys) {
+			next = (next + 7) & (KEY_COUNT - 1);
+			return keys[next];
+		}
+	}
+
+	@Benchmark
+	@Group("direct")
+	@GroupThreads(4)
+	public boolean addRemove(Cursor cursor) {
+		final Integer key = cursor.nextKey(keys);
+		return set.add(key) || set.remove(key);
+	}
+
+	@Benchmark
+	@Group("transactional")
+	@GroupThreads(3)
+	public boolean transactionalWriters(Cursor cursor) {
+		final Integer key = cursor.nextKey(keys);
+		return set.add(key) || set.remove(key);
+	}
+
+	@Benchmark
+	@Group("transactional")
+	@GroupThreads(1)
+	public void transaction(Cursor cursor) {
+		set.beginTransaction();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			final Integer key = cursor.nextKey(keys);
+			if (!set.add(key)) set.remove(key);
+		}
+		set.endTransaction();
+	}
+}
@@ -0,0 +1,93 @@
+package com.raizlabs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.raizlabs.concurrent.UIThread;
+
+/**
+ * Benchmarks checking whether the calling thread is the UI thread, which is
+ * done before nearly every post to the UI thread. The benchmark thread
+ * stands in for the UI thread.
+ * <br><br>
+ * The Android classes can't run here, so the check ThreadingUtils makes,
+ * comparing against the cached UI thread, is compared with the
+ * Looper.myLooper() == Looper.getMainLooper() check it replaced, which is a
+ * {@link ThreadLocal} lookup. The {@link UIThread} cases measure the same
+ * cached check behind the {@link UIThread.Poster} indirection used by the
+ * platform independent code.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UIThreadBenchmark {
+
+	private Thread uiThread;
+	// Stand-ins for the thread's Looper and the main Looper
+	private ThreadLocal<Object> looper;
+	private Object mainLooper;
+	private Runnable noop;
+
+	@Setup
+	public void setUp() {
+		uiThread = Thread.currentThread();
+		mainLooper = new Object();
+		looper = new ThreadLocal<Object>();
+		looper.set(mainLooper);
+		noop = new Runnable() {
+			@Override
+			public void run() { }
+		};
+
+		UIThread.setPoster(new UIThread.Poster() {
+			@Override
+			public boolean isOnUIThread() {
+				return Thread.currentThread() == uiThread;
+			}
+
+			@Override
+			public void post(Runnable action) {
+				throw new IllegalStateException("Should be on the UI thread");
+			}
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		UIThread.setPoster(null);
+	}
+
+	@Benchmark
+	public boolean cachedThreadCheck() {
+		return Thread.currentThread() == uiThread;
+	}
+
+	@Benchmark
+	public boolean threadLocalLooperCheck() {
+		return looper.get() == mainLooper;
+	}
+
+	@Benchmark
+	public boolean uiThreadIsOnUIThread() {
+		return UIThread.isOnUIThread();
+	}
+
+	@Benchmark
+	public boolean uiThreadRun() {
+		return UIThread.run(noop);
+	}
+}
@@ -0,0 +1,220 @@
+package com.raizlabs.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.raizlabs.concurrent.ConcurrencyUtils;
+import com.raizlabs.functions.Predicate;
+
+/**
+ * Collection of utilities for use with {@link List}s.
+ * 
+ * @author Dylan James
+ *
+ */
+public class ListUtils {
+	/**
+	 * The default minimum number of items each parallel chunk will evaluate.
+	 * @see #filterInParallel(List, Predicate, Executor, int)
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+	/**
+	 * Returns true if the given list is null or empty.
+	 * @param list The list to check.
+	 * @return True if the list is null or empty.
+	 */
+	public static boolean isEmpty(List<?> list) {
+		return list == null || list.isEmpty();
+	}
+	
+	/**
+	 * Removes all items from the given list for which the given
+	 * {@link Predicate} returns false.
+	 * @param list The list to filter.
+	 * @param predicate The predicate to run against list items.
+	 */
+	public static <T> void filter(List<? extends T> list, Predicate<T> predicate) {
+		if (list instanceof RandomAccess) {
+			// Removing through the iterator shifts the remainder of the list
+			// on every removal, so compact in place instead
+			filterSerially(list, predicate);
+			return;
+		}
+
+		ListIterator<? extends T> iter = list.listIterator();
+		T currItem = null;
+		
+		while (iter.hasNext()) {
+			currItem = iter.next();
+			if (!predicate.evaluate(currItem)) {
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Evaluates every item before modifying the list, so that the list is
+	 * left unmodified if the {@link Predicate} throws.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T, E extends T> void filterSerially(List<E> list, Predicate<T> predicate) {
+		final Object[] items = list.toArray();
+		final int size = items.length;
+		// One bit per item, set if the item should be kept
+		final long[] keep = new long[(size + 63) >>> 6];
+		for (int i = 0; i < size; i++) {
+			if (predicate.evaluate((E) items[i])) {
+				keep[i >>> 6] |= 1L << i;
+			}
+		}
+
+		compact(list, items, keep);
+	}
+
+	/**
+	 * Removes all items from the given list for which the given
+	 * {@link Predicate} returns false, evaluating the predicate in parallel on
+	 * the shared {@link ConcurrencyUtils#getComputationExecutor()}.
+	 * @see #filterInParallel(List, Predicate, Executor, int)
+	 * @param list The list to filter.
+	 * @param predicate The predicate to run against list items.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting for the evaluation to complete. The list will be unmodified.
+	 */
+	public static <T> void filterInParallel(List<? extends T> list, Predicate<T> predicate)
+			throws InterruptedException {
+		filterInParallel(list, predicate, ConcurrencyUtils.getComputationExecutor(),
+				DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Removes all items from the given list for which the given
+	 * {@link Predicate} returns false. The predicate is evaluated in parallel
+	 * chunks on the given {@link Executor}, and the list is then compacted in
+	 * a single pass on the calling thread. {@link RandomAccess} lists are
+	 * compacted in place, while other lists are cleared and rebuilt.
+	 * <br><br>
+	 * The {@link Predicate} may be called from multiple threads at once, and
+	 * the list must not be modified until this call returns. This call blocks
+	 * until the evaluation is complete, so it should not be called from a
+	 * thread owned by the given {@link Executor}.
+	 * <br><br>
+	 * If the {@link Predicate} throws, the exception is rethrown on the
+	 * calling thread and the list is left unmodified.
+	 * @param list The list to filter.
+	 * @param predicate The predicate to run against list items.
+	 * @param executor The {@link Executor} to evaluate chunks on.
+	 * @param parallelThreshold The minimum number of items to evaluate in each
+	 * chunk. Lists no larger than this are filtered serially.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting for the evaluation to complete. The list will be unmodified.
+	 */
+	public static <T> void filterInParallel(List<? extends T> list, Predicate<T> predicate,
+			Executor executor, int parallelThreshold) throws InterruptedException {
+		if (parallelThreshold < 1) {
+			throw new IllegalArgumentException("Parallel threshold must be at least 1");
+		}
+
+		if (list.size() <= parallelThreshold) {
+			filterSerially(list, predicate);
+		} else {
+			filterChunked(list, predicate, executor, parallelThreshold);
+		}
+	}
+
+	private static <T, E extends T> void filterChunked(List<E> list, final Predicate<T> predicate,
+			Executor executor, int parallelThreshold) throws InterruptedException {
+		final Object[] items = list.toArray();
+		final int size = items.length;
+		// One bit per item, set if the item should be kept
+		final long[] keep = new long[(size + 63) >>> 6];
+
+		// Chunks are aligned to whole words so that no two chunks ever
+		// write to the same word of the bitset
+		int chunkSize = Math.max(parallelThreshold,
+				(size + ConcurrencyUtils.getProcessorCount() - 1) / ConcurrencyUtils.getProcessorCount());
+		chunkSize = (chunkSize + 63) & ~63;
+		final int numChunks = (size + chunkSize - 1) / chunkSize;
+
+		final CountDownLatch remainingChunks = new CountDownLatch(numChunks);
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+
+		for (int i = 0; i < numChunks; i++) {
+			final int start = i * chunkSize;
+			final int end = Math.min(size, start + chunkSize);
+			Runnable chunk = new Runnable() {
+				@SuppressWarnings("unchecked")
+				@Override
+				public void run() {
+					try {
+						for (int j = start; j < end && error.get() == null; j++) {
+							if (predicate.evaluate((E) items[j])) {
+								keep[j >>> 6] |= 1L << j;
+							}
+						}
+					} catch (Throwable t) {
+						error.compareAndSet(null, t);
+					} finally {
+						remainingChunks.countDown();
+					}
+				}
+			};
+
+			// Run the last chunk ourselves instead of sitting idle
+			if (i == numChunks - 1) {
+				chunk.run();
+			} else {
+				executor.execute(chunk);
+			}
+		}
+
+		remainingChunks.await();
+
+		Throwable failure = error.get();
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		} else if (failure != null) {
+			throw new RuntimeException(failure);
+		}
+
+		compact(list, items, keep);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> void compact(List<E> list, Object[] items, long[] keep) {
+		final int size = items.length;
+		if (list instanceof RandomAccess) {
+			int writeIndex = 0;
+			for (int i = 0; i < size; i++) {
+				if ((keep[i >>> 6] & (1L << i)) != 0) {
+					if (writeIndex != i) list.set(writeIndex, (E) items[i]);
+					writeIndex++;
+				}
+			}
+
+			if (writeIndex < size) {
+				list.subList(writeIndex, size).clear();
+			}
+		} else {
+			List<E> kept = new ArrayList<E>(size);
+			for (int i = 0; i < size; i++) {
+				if ((keep[i >>> 6] & (1L << i)) != 0) {
+					kept.add((E) items[i]);
+				}
+			}
+
+			if (kept.size() < size) {
+				list.clear();
+				list.addAll(kept);
+			}
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package com.raizlabs.collections;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.raizlabs.concurrent.ConcurrencyUtils;
+import com.raizlabs.functions.Delegate;
+
+
+/**
+ * A class which contains a set of items and can perform an actions across all
+ * items in the set.
+ * 
+ * @author Dylan James
+ *
+ * @param <T> The type of item stored in the set.
+ */
+public class MappableSet<T> {
+	
+	private TransactionalHashSet<T> members;
+	
+	/**
+	 * Creates a new empty {@link MappableSet}.
+	 */
+	public MappableSet() {
+		members = new TransactionalHashSet<T>();
+	}
+	
+	
+	/**
+	 * Adds the given item to the set.
+	 * @param item The item to add.
+	 */
+	public <E extends T> void add(E item) {
+		members.add(item);
+	}
+	
+	/**
+	 * Removes the given item from the set.
+	 * @param item The item to remove.
+	 * @return True if the item was removed, false if it wasn't found in the
+	 * set.
+	 */
+	public <E extends T> boolean remove(E item) {
+		return members.remove(item);
+	}
+	
+	/**
+	 * Removes all items from this set.
+	 */
+	public void clear() {
+		members.clear();
+	}
+	
+	/**
+	 * Returns true if the given item is found in the set.
+	 * @param item The item to look for.
+	 * @return True if the item was found, false if it is not.
+	 */
+	public <E extends T> boolean contains(E item) {
+		return members.contains(item);
+	}
+	
+	/**
+	 * @return The number of items in this set.
+	 */
+	public int size() {
+		return members.size();
+	}
+	
+
+	/**
+	 * Calls the given {@link Delegate} on all items in the set. Items may be
+	 * added or removed during this call, but changes may not be reflected
+	 * until this completes.
+	 * @param function The {@link Delegate} to call for each item.
+	 */
+	public void map(Delegate<T> function) {
+		members.beginTransaction();
+		for (T member : members) {
+			function.execute(member);
+		}
+		members.endTransaction();
+	}
+	
+	/**
+	 * The default minimum number of items each parallel chunk will process.
+	 * @see #mapInParallel(Delegate, Executor, int)
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+	
+	/**
+	 * Calls the given {@link Delegate} on all items in the set, splitting the
+	 * work across the shared {@link ConcurrencyUtils#getComputationExecutor()}.
+	 * @see #mapInParallel(Delegate, Executor, int)
+	 * @param function The {@link Delegate} to call for each item.
+	 * @return A {@link MapOperation} which may be used to wait for or cancel
+	 * the mapping.
+	 */
+	public MapOperation mapInParallel(Delegate<T> function) {
+		return mapInParallel(function, ConcurrencyUtils.getComputationExecutor(),
+				DEFAULT_PARALLEL_THRESHOLD);
+	}
+	
+	/**
+	 * Calls the given {@link Delegate} on all items in the set, splitting the
+	 * items into chunks which are executed on the given {@link Executor}. The
+	 * set is snapshotted before the mapping begins, so items may be added or
+	 * removed during this call, but changes will not be reflected in the
+	 * mapping. The {@link Delegate} may be called from multiple threads at once.
+	 * <br><br>
+	 * If the set contains no more than the given threshold of items, the
+	 * mapping is executed serially on the calling thread before this returns.
+	 * In this case, exceptions thrown by the {@link Delegate} propagate to the
+	 * caller as they do from {@link #map(Delegate)}. Otherwise, the first
+	 * exception stops the mapping and is available from
+	 * {@link MapOperation#getError()}.
+	 * <br><br>
+	 * If the {@link Executor} rejects a chunk, the mapping is stopped, the
+	 * chunks which weren't submitted are counted as finished, and the
+	 * {@link RejectedExecutionException} is available from
+	 * {@link MapOperation#getError()}.
+	 * @param function The {@link Delegate} to call for each item.
+	 * @param executor The {@link Executor} to run chunks of the mapping on.
+	 * @param parallelThreshold The minimum number of items to process in each
+	 * chunk. Must be at least 1.
+	 * @return A {@link MapOperation} which may be used to wait for or cancel
+	 * the mapping.
+	 */
+	public MapOperation mapInParallel(final Delegate<T> function, Executor executor, int parallelThreshold) {
+		if (parallelThreshold < 1) {
+			throw new IllegalArgumentException("Parallel threshold must be at least 1");
+		}
+		
+		final Object[] snapshot;
+		synchronized (members) {
+			snapshot = members.toArray();
+		}
+		
+		final int numItems = snapshot.length;
+		// Split into at most one chunk per processor, but never make chunks
+		// smaller than the threshold
+		int numChunks = Math.min(ConcurrencyUtils.getProcessorCount(),
+				(numItems + parallelThreshold - 1) / parallelThreshold);
+		if (numChunks < 1) numChunks = 1;
+		
+		final MapOperation operation = new MapOperation(numChunks);
+		
+		if (numChunks == 1) {
+			operation.runChunk(function, snapshot, 0, numItems, true);
+		} else {
+			final int chunkSize = (numItems + numChunks - 1) / numChunks;
+			for (int i = 0; i < numChunks; i++) {
+				final int start = i * chunkSize;
+				final int end = Math.min(numItems, start + chunkSize);
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							operation.runChunk(function, snapshot, start, end, false);
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					operation.onRejected(e, numChunks - i);
+					break;
+				}
+			}
+		}
+		
+		return operation;
+	}
+	
+	/**
+	 * Class which represents a pending parallel mapping started by
+	 * {@link MappableSet#mapInParallel(Delegate, Executor, int)}.
+	 */
+	public class MapOperation {
+		private final CountDownLatch remainingChunks;
+		private volatile boolean cancelled;
+		private volatile Throwable error;
+		
+		MapOperation(int numChunks) {
+			remainingChunks = new CountDownLatch(numChunks);
+		}
+		
+		@SuppressWarnings("unchecked")
+		void runChunk(Delegate<T> function, Object[] items, int start, int end, boolean rethrow) {
+			try {
+				for (int i = start; i < end && !cancelled; i++) {
+					function.execute((T) items[i]);
+				}
+			} catch (RuntimeException e) {
+				onError(e);
+				if (rethrow) throw e;
+			} catch (Error e) {
+				onError(e);
+				throw e;
+			} finally {
+				remainingChunks.countDown();
+			}
+		}
+		
+		/**
+		 * Stops this mapping because a chunk couldn't be submitted, and counts
+		 * that chunk and every one after it as finished so that waiters
+		 * aren't blocked forever.
+		 */
+		void onRejected(RejectedExecutionException e, int unsubmittedChunks) {
+			onError(e);
+			for (int i = 0; i < unsubmittedChunks; i++) {
+				remainingChunks.countDown();
+			}
+		}
+		
+		private void onError(Throwable t) {
+			synchronized (this) {
+				if (error == null) error = t;
+			}
+			// Stop the remaining chunks since the mapping has failed
+			cancelled = true;
+		}
+		
+		/**
+		 * Cancels this mapping. Items which have not yet been visited will be
+		 * skipped, but calls which are already executing will run to completion.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+		
+		/**
+		 * @return True if this mapping was cancelled or stopped due to an error.
+		 */
+		public boolean isCancelled() {
+			return cancelled;
+		}
+		
+		/**
+		 * @return True if all chunks of this mapping have finished, whether
+		 * they ran to completion or were cancelled.
+		 */
+		public boolean isCompleted() {
+			return remainingChunks.getCount() == 0;
+		}
+		
+		/**
+		 * @return The first exception thrown by the {@link Delegate}, or the
+		 * {@link RejectedExecutionException} if a chunk couldn't be submitted,
+		 * or null if neither has happened.
+		 */
+		public Throwable getError() {
+			return error;
+		}
+		
+		/**
+		 * Blocks until all chunks of this mapping have finished.
+		 * @throws InterruptedException if the calling thread is interrupted
+		 * while waiting.
+		 */
+		public void waitForCompletion() throws InterruptedException {
+			remainingChunks.await();
+		}
+		
+		/**
+		 * Blocks until all chunks of this mapping have finished or the given
+		 * timeout elapses.
+		 * @param timeout The maximum time to wait.
+		 * @param unit The unit of the timeout.
+		 * @return True if the mapping finished, false if the timeout elapsed.
+		 * @throws InterruptedException if the calling thread is interrupted
+		 * while waiting.
+		 */
+		public boolean waitForCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+			return remainingChunks.await(timeout, unit);
+		}
+	}
+}
@@ -0,0 +1,272 @@
+package com.raizlabs.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.raizlabs.functions.Provider;
+import com.raizlabs.functions.Transformer;
+
+/**
+ * Class containing some helper methods related to concurrency.
+ * @author Dylan James
+ *
+ */
+public class ConcurrencyUtils {
+	
+	private static volatile ExecutorService computationExecutor;
+	/**
+	 * Gets a shared, bounded {@link ExecutorService} intended for short
+	 * CPU-bound work. This pool contains one daemon thread per available
+	 * processor and is created the first time it is requested.
+	 * @return The shared computation {@link ExecutorService}.
+	 */
+	public static ExecutorService getComputationExecutor() {
+		if (computationExecutor == null) {
+			synchronized (ConcurrencyUtils.class) {
+				if (computationExecutor == null) {
+					computationExecutor = Executors.newFixedThreadPool(getProcessorCount(),
+							createDaemonThreadFactory("RZComputation"));
+				}
+			}
+		}
+		return computationExecutor;
+	}
+	
+	/**
+	 * @return The number of processors available to the VM, always at least 1.
+	 */
+	public static int getProcessorCount() {
+		return Math.max(1, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates a {@link ThreadFactory} which creates daemon threads named with
+	 * the given prefix followed by an incrementing index.
+	 * @param namePrefix The prefix for the names of created threads.
+	 * @return The created {@link ThreadFactory}.
+	 */
+	public static ThreadFactory createDaemonThreadFactory(final String namePrefix) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, namePrefix + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+	
+	/**
+	 * Puts the given value in the given map for the given key if no mapping exists,
+	 * and returns the new value.
+	 * @param map The map to store the value in.
+	 * @param key The key in the map to store the value in.
+	 * @param absentValue The value to put if no mapping exists.
+	 * @return The value that is now stored in the map. This will be absentValue if
+	 * no mapping existed and the absentValue was stored, or the existing value if
+	 * one existed. 
+	 */
+	public static <K, V> V putIfAbsent(ConcurrentHashMap<K, V> map, K key, V absentValue) {
+		// First quickly try to get the value
+		V value = map.get(key);
+		// If we failed to retrieve one, try to put the absentValue
+		if (value == null) {
+			value = map.putIfAbsent(key, absentValue);
+			// If there was not an old mapping, it is now mapped to absent value
+			if (value == null) {
+				value = absentValue;
+			}
+		}
+		// Return the current mapping.
+		return value;
+	}
+	
+	/**
+	 * Computations currently running in
+	 * {@link #computeIfAbsent(ConcurrentHashMap, Object, Provider)}, keyed by
+	 * map and key so that only requests for the same key wait on each other.
+	 * Entries are removed as soon as their computation finishes.
+	 */
+	private static final ConcurrentHashMap<PendingKey, FutureTask<?>> PENDING_COMPUTATIONS =
+			new ConcurrentHashMap<PendingKey, FutureTask<?>>();
+	
+	/**
+	 * Puts the value obtained from the given {@link Provider} in the given map
+	 * for the given key if no mapping exists, and returns the current value.
+	 * Unlike {@link #putIfAbsent(ConcurrentHashMap, Object, Object)}, the value
+	 * is only created if it is needed, and the {@link Provider} is called at
+	 * most once per key, even if multiple threads request the same key at the
+	 * same time. Other threads requesting the key will wait for the value, but
+	 * requests for other keys never wait on it.
+	 * <br><br>
+	 * If the {@link Provider} throws, nothing is stored and the exception is
+	 * rethrown to the caller whose call ran it. Any other waiting thread will
+	 * then try the {@link Provider} itself. If it returns null, nothing is
+	 * stored and null is returned.
+	 * <br><br>
+	 * This only guards against concurrent calls to this method. Values which
+	 * are put into the map in other ways will be returned, but may replace a
+	 * value that is being computed.
+	 * @param map The map to store the value in.
+	 * @param key The key in the map to store the value in.
+	 * @param provider The {@link Provider} to obtain the value from if no
+	 * mapping exists.
+	 * @return The value that is now stored in the map.
+	 */
+	public static <K, V> V computeIfAbsent(final ConcurrentHashMap<K, V> map, final K key,
+			final Provider<? extends V> provider) {
+		// The common case is that the value exists, so don't look any further
+		V value = map.get(key);
+		if (value != null) return value;
+		
+		final PendingKey pendingKey = new PendingKey(map, key);
+		while (true) {
+			FutureTask<?> future = PENDING_COMPUTATIONS.get(pendingKey);
+			boolean ranHere = false;
+			if (future == null) {
+				FutureTask<V> newFuture = new FutureTask<V>(new Callable<V>() {
+					@Override
+					public V call() {
+						// Another thread may have computed it before we got here
+						V value = map.get(key);
+						if (value != null) return value;
+						
+						value = provider.obtainProvided();
+						if (value == null) return null;
+						
+						V existing = map.putIfAbsent(key, value);
+						return (existing != null) ? existing : value;
+					}
+				});
+				future = PENDING_COMPUTATIONS.putIfAbsent(pendingKey, newFuture);
+				if (future == null) {
+					// We won the race, so we are the one to compute it. The
+					// provider runs outside of any shared lock.
+					future = newFuture;
+					ranHere = true;
+					try {
+						newFuture.run();
+					} finally {
+						PENDING_COMPUTATIONS.remove(pendingKey, newFuture);
+					}
+				}
+			}
+			
+			try {
+				@SuppressWarnings("unchecked")
+				V result = (V) getUninterruptibly(future);
+				return result;
+			} catch (ExecutionException e) {
+				if (ranHere) {
+					final Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+					if (cause instanceof Error) throw (Error) cause;
+					throw new RuntimeException(cause);
+				}
+				// The thread which ran the provider gets its exception, and
+				// we try again ourselves
+				value = map.get(key);
+				if (value != null) return value;
+			}
+		}
+	}
+	
+	/**
+	 * Waits for the given {@link Future} to complete, continuing to wait if
+	 * the calling thread is interrupted. The thread's interrupted status is
+	 * restored before this returns.
+	 * @param future The {@link Future} to wait for.
+	 * @return The result of the {@link Future}.
+	 * @throws ExecutionException if the {@link Future} threw.
+	 */
+	static <V> V getUninterruptibly(Future<V> future) throws ExecutionException {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return future.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Key for {@link #PENDING_COMPUTATIONS}, which matches the map by identity
+	 * and the key by equality.
+	 */
+	private static class PendingKey {
+		private final Object map;
+		private final Object key;
+		
+		PendingKey(Object map, Object key) {
+			this.map = map;
+			this.key = key;
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(map) + key.hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof PendingKey)) return false;
+			PendingKey other = (PendingKey) o;
+			return map == other.map && key.equals(other.key);
+		}
+	}
+	
+	/**
+	 * Returns a {@link Provider} which obtains its value from the given
+	 * {@link Provider} the first time it is called, and returns the same
+	 * value from then on. The given {@link Provider} is called at most once,
+	 * unless it throws, in which case it will be tried again on the next call.
+	 * @param provider The {@link Provider} to obtain the value from.
+	 * @return The memoizing {@link Provider}.
+	 */
+	public static <T> Provider<T> memoize(final Provider<? extends T> provider) {
+		return new Provider<T>() {
+			private volatile boolean obtained = false;
+			private T value;
+			
+			@Override
+			public T obtainProvided() {
+				if (!obtained) {
+					synchronized (this) {
+						if (!obtained) {
+							value = provider.obtainProvided();
+							obtained = true;
+						}
+					}
+				}
+				return value;
+			}
+		};
+	}
+	
+	/**
+	 * Returns a {@link Memoizer} which caches the results of the given
+	 * {@link Transformer} by key, calling it at most once per key.
+	 * @see Memoizer
+	 * @param transformer The {@link Transformer} to compute results with.
+	 * @return The {@link Memoizer}.
+	 */
+	public static <K, V> Memoizer<K, V> memoize(Transformer<? super K, ? extends V> transformer) {
+		return new Memoizer<K, V>(transformer);
+	}
+}
@@ -0,0 +1,160 @@
+package com.raizlabs.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class which provides a separate lock for each key, so that work on the same
+ * key is serialized while work on different keys never blocks each other.
+ * Locks are created when a key is first locked and discarded once no thread
+ * holds or is waiting for them, so only keys which are in use take up memory.
+ * <br><br>
+ * Locks are reentrant. Every successful lock of a key must be matched by an
+ * {@link #unlock(Object)} of that key on the same thread, typically in a
+ * finally block.
+ *
+ * @param <K> The type of the keys.
+ */
+public class KeyedLock<K> {
+
+	private final ConcurrentHashMap<K, Entry> entries;
+
+	/**
+	 * Constructs an empty {@link KeyedLock}.
+	 */
+	public KeyedLock() {
+		entries = new ConcurrentHashMap<K, Entry>();
+	}
+
+	/**
+	 * Acquires the lock for the given key, blocking until it is available.
+	 * @param key The key to lock.
+	 */
+	public void lock(K key) {
+		acquireEntry(key).lock.lock();
+	}
+
+	/**
+	 * Acquires the lock for the given key, blocking until it is available or
+	 * the calling thread is interrupted.
+	 * @param key The key to lock.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public void lockInterruptibly(K key) throws InterruptedException {
+		final Entry entry = acquireEntry(key);
+		try {
+			entry.lock.lockInterruptibly();
+		} catch (InterruptedException e) {
+			releaseEntry(key, entry);
+			throw e;
+		}
+	}
+
+	/**
+	 * Attempts to acquire the lock for the given key, waiting up to the given
+	 * timeout for it to become available.
+	 * @param key The key to lock.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if the lock was acquired, false if the timeout elapsed
+	 * first.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public boolean tryLock(K key, long timeout, TimeUnit unit) throws InterruptedException {
+		final Entry entry = acquireEntry(key);
+		boolean locked = false;
+		try {
+			locked = entry.lock.tryLock(timeout, unit);
+		} finally {
+			if (!locked) releaseEntry(key, entry);
+		}
+		return locked;
+	}
+
+	/**
+	 * Releases the lock for the given key, which must be held by the calling
+	 * thread.
+	 * @param key The key to unlock.
+	 * @throws IllegalMonitorStateException if the calling thread doesn't hold
+	 * the lock for the key.
+	 */
+	public void unlock(K key) {
+		final Entry entry = entries.get(key);
+		if (entry == null || !entry.lock.isHeldByCurrentThread()) {
+			throw new IllegalMonitorStateException("Lock for " + key + " is not held by this thread");
+		}
+		entry.lock.unlock();
+		releaseEntry(key, entry);
+	}
+
+	/**
+	 * Runs the given action while holding the lock for the given key.
+	 * @param key The key to lock.
+	 * @param action The action to run.
+	 */
+	public void runLocked(K key, Runnable action) {
+		lock(key);
+		try {
+			action.run();
+		} finally {
+			unlock(key);
+		}
+	}
+
+	/**
+	 * @return The number of keys which are currently locked or being waited
+	 * on.
+	 */
+	public int getActiveKeyCount() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the entry for the given key, creating it if necessary, and counts
+	 * the calling thread as a user of it.
+	 */
+	private Entry acquireEntry(K key) {
+		while (true) {
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				Entry newEntry = new Entry();
+				entry = entries.putIfAbsent(key, newEntry);
+				if (entry == null) return newEntry;
+			}
+
+			synchronized (entry) {
+				// An entry with no users has been removed from the map, so we
+				// need to start again
+				if (entry.users > 0) {
+					entry.users++;
+					return entry;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops counting the calling thread as a user of the given entry,
+	 * removing it from the map if nobody else is using it.
+	 */
+	private void releaseEntry(K key, Entry entry) {
+		synchronized (entry) {
+			entry.users--;
+			if (entry.users == 0) {
+				entries.remove(key, entry);
+			}
+		}
+	}
+
+	private static class Entry {
+		final ReentrantLock lock = new ReentrantLock();
+		/**
+		 * The number of outstanding acquisitions, including threads which are
+		 * waiting for the lock. Guarded by this entry's monitor.
+		 */
+		int users = 1;
+	}
+}
@@ -0,0 +1,90 @@
+package com.raizlabs.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.raizlabs.functions.Transformer;
+
+/**
+ * {@link Transformer} which caches the results of another
+ * {@link Transformer} by key. The wrapped {@link Transformer} is run at most
+ * once per key, even when several threads request the same key at the same
+ * time. Those threads wait for the first one to compute the result.
+ * <br><br>
+ * If the wrapped {@link Transformer} throws, the exception is rethrown to
+ * every thread waiting on that key and nothing is cached, so a later request
+ * will try again. Checked exceptions are wrapped in a
+ * {@link RuntimeException}.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the results.
+ */
+public class Memoizer<K, V> implements Transformer<K, V> {
+
+	private final Transformer<? super K, ? extends V> transformer;
+	private final ConcurrentHashMap<K, FutureTask<V>> results;
+
+	/**
+	 * Constructs a {@link Memoizer} which caches the results of the given
+	 * {@link Transformer}.
+	 * @param transformer The {@link Transformer} to compute results with.
+	 */
+	public Memoizer(Transformer<? super K, ? extends V> transformer) {
+		this.transformer = transformer;
+		this.results = new ConcurrentHashMap<K, FutureTask<V>>();
+	}
+
+	/**
+	 * Gets the result for the given key, computing it if it hasn't been
+	 * computed yet, or waiting for it if another thread is computing it.
+	 * @param key The key to get the result for.
+	 * @return The result for the given key.
+	 */
+	@Override
+	public V transform(final K key) {
+		FutureTask<V> future = results.get(key);
+		if (future == null) {
+			FutureTask<V> newFuture = new FutureTask<V>(new Callable<V>() {
+				@Override
+				public V call() throws Exception {
+					return transformer.transform(key);
+				}
+			});
+			future = results.putIfAbsent(key, newFuture);
+			if (future == null) {
+				// We won the race, so we are the one to compute it
+				future = newFuture;
+				future.run();
+			}
+		}
+
+		try {
+			return ConcurrencyUtils.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			// Don't cache failures
+			results.remove(key, future);
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * Removes the result for the given key, so it will be computed again the
+	 * next time it is requested.
+	 * @param key The key to remove.
+	 */
+	public void forget(K key) {
+		results.remove(key);
+	}
+
+	/**
+	 * Removes all results.
+	 */
+	public void clear() {
+		results.clear();
+	}
+}
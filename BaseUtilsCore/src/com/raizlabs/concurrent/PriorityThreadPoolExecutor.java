@@ -0,0 +1,174 @@
+package com.raizlabs.concurrent;
+
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ThreadPoolExecutor} which runs queued work in order of priority.
+ * Work which implements {@link Prioritized} is run highest priority first,
+ * while any other work is treated as {@link Prioritized.Priority#NORMAL}.
+ * Work of equal priority is run in the order it was submitted.
+ * <br><br>
+ * Since the queue is unbounded, this pool always runs a fixed number of
+ * threads.
+ */
+public class PriorityThreadPoolExecutor extends ThreadPoolExecutor {
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * Creates a {@link PriorityThreadPoolExecutor} which runs the given number
+	 * of daemon threads.
+	 * @param numThreads The number of threads to run work on.
+	 * @param namePrefix The prefix for the names of the threads.
+	 */
+	public PriorityThreadPoolExecutor(int numThreads, String namePrefix) {
+		this(numThreads, ConcurrencyUtils.createDaemonThreadFactory(namePrefix));
+	}
+
+	/**
+	 * Creates a {@link PriorityThreadPoolExecutor} which runs the given number
+	 * of threads created by the given {@link ThreadFactory}.
+	 * @param numThreads The number of threads to run work on.
+	 * @param threadFactory The {@link ThreadFactory} to create threads with.
+	 */
+	public PriorityThreadPoolExecutor(int numThreads, ThreadFactory threadFactory) {
+		this(numThreads, numThreads, 0, TimeUnit.MILLISECONDS, threadFactory);
+	}
+
+	/**
+	 * Creates a {@link PriorityThreadPoolExecutor} whose core pool size may be
+	 * changed by subclasses via {@link #setCorePoolSize(int)}.
+	 * @param corePoolSize The initial number of threads to keep.
+	 * @param maximumPoolSize The maximum number of threads.
+	 * @param keepAliveTime How long threads above the core size may be idle.
+	 * @param unit The unit of the keep alive time.
+	 * @param threadFactory The {@link ThreadFactory} to create threads with.
+	 */
+	protected PriorityThreadPoolExecutor(int corePoolSize, int maximumPoolSize,
+			long keepAliveTime, TimeUnit unit, ThreadFactory threadFactory) {
+		super(corePoolSize, maximumPoolSize, keepAliveTime, unit,
+				new PriorityBlockingQueue<Runnable>(11, ENTRY_COMPARATOR), threadFactory);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command instanceof Entry) {
+			super.execute(command);
+		} else {
+			super.execute(new Entry(command, getPriority(command), sequence.getAndIncrement()));
+		}
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		return new PrioritizedFutureTask<T>(runnable, value, getPriority(runnable));
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		return new PrioritizedFutureTask<T>(callable, getPriority(callable));
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r) {
+		super.beforeExecute(t, r);
+		if (r instanceof Entry) {
+			onDequeued(System.nanoTime() - ((Entry) r).enqueueNanos);
+		}
+	}
+
+	/**
+	 * Called on the worker thread before each piece of work is run.
+	 * @param queuedNanos How long the work waited to be run, in nanoseconds.
+	 */
+	protected void onDequeued(long queuedNanos) { }
+
+	/**
+	 * @return How long the work at the head of the queue has been waiting,
+	 * in nanoseconds, or zero if the queue is empty.
+	 */
+	protected long getHeadQueuedNanos() {
+		final Runnable head = getQueue().peek();
+		if (head instanceof Entry) {
+			return System.nanoTime() - ((Entry) head).enqueueNanos;
+		}
+		return 0;
+	}
+
+	private static int getPriority(Object work) {
+		if (work instanceof Prioritized) {
+			return ((Prioritized) work).getPriority();
+		}
+		return Prioritized.Priority.NORMAL;
+	}
+
+	/**
+	 * Wraps queued work with its priority and submission order.
+	 */
+	private static class Entry implements PrioritizedRunnable {
+		final Runnable runnable;
+		final int priority;
+		final long sequence;
+		final long enqueueNanos;
+
+		Entry(Runnable runnable, int priority, long sequence) {
+			this.runnable = runnable;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.enqueueNanos = System.nanoTime();
+		}
+
+		@Override
+		public int getPriority() {
+			return priority;
+		}
+
+		@Override
+		public void run() {
+			runnable.run();
+		}
+	}
+
+	private static final Comparator<Runnable> ENTRY_COMPARATOR = new Comparator<Runnable>() {
+		@Override
+		public int compare(Runnable lhs, Runnable rhs) {
+			final Entry lhe = (Entry) lhs;
+			final Entry rhe = (Entry) rhs;
+			if (lhe.priority != rhe.priority) {
+				return (lhe.priority > rhe.priority) ? -1 : 1;
+			}
+			if (lhe.sequence == rhe.sequence) return 0;
+			return (lhe.sequence < rhe.sequence) ? -1 : 1;
+		}
+	};
+
+	/**
+	 * {@link FutureTask} which carries the priority of the work it wraps.
+	 */
+	private static class PrioritizedFutureTask<T> extends FutureTask<T> implements Prioritized {
+		private final int priority;
+
+		PrioritizedFutureTask(Runnable runnable, T value, int priority) {
+			super(runnable, value);
+			this.priority = priority;
+		}
+
+		PrioritizedFutureTask(Callable<T> callable, int priority) {
+			super(callable);
+			this.priority = priority;
+		}
+
+		@Override
+		public int getPriority() {
+			return priority;
+		}
+	}
+}
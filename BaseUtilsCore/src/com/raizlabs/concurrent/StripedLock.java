@@ -0,0 +1,76 @@
+package com.raizlabs.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class which maps arbitrary keys onto a fixed set of locks. Work on the same
+ * key is always serialized, while work on different keys usually proceeds in
+ * parallel. Unrelated keys may occasionally share a lock, but no memory is
+ * allocated per key, so this is suited to large or unbounded key sets.
+ * <br><br>
+ * For keys which must never block each other, use a {@link KeyedLock}
+ * instead.
+ */
+public class StripedLock {
+
+	private final ReentrantLock[] locks;
+	private final int mask;
+
+	/**
+	 * Constructs a {@link StripedLock} with roughly the given number of
+	 * locks.
+	 * @param stripes The number of locks to use. This will be rounded up to
+	 * a power of two.
+	 */
+	public StripedLock(int stripes) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException("Must have at least one stripe");
+		}
+		final int size = (stripes == 1) ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+		this.locks = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * @return The number of locks keys are spread over.
+	 */
+	public int getStripeCount() {
+		return locks.length;
+	}
+
+	/**
+	 * Gets the {@link Lock} for the given key. The same key always maps to
+	 * the same {@link Lock}.
+	 * @param key The key to get the lock for. May be null.
+	 * @return The {@link Lock} for the key.
+	 */
+	public Lock getLock(Object key) {
+		int hash = (key != null) ? key.hashCode() : 0;
+		// Spread the bits so that hashes which only differ in the high bits
+		// don't all land on the same lock
+		hash ^= (hash >>> 20) ^ (hash >>> 12);
+		hash ^= (hash >>> 7) ^ (hash >>> 4);
+		return locks[hash & mask];
+	}
+
+	/**
+	 * Acquires the lock for the given key, blocking until it is available.
+	 * @param key The key to lock.
+	 */
+	public void lock(Object key) {
+		getLock(key).lock();
+	}
+
+	/**
+	 * Releases the lock for the given key, which must be held by the calling
+	 * thread.
+	 * @param key The key to unlock.
+	 */
+	public void unlock(Object key) {
+		getLock(key).unlock();
+	}
+}
@@ -0,0 +1,146 @@
+package com.raizlabs.concurrent;
+
+/**
+ * Class which lets platform independent code run work on the UI thread
+ * without depending on the platform. Work is handed to the installed
+ * {@link Poster}.
+ * <br><br>
+ * If no {@link Poster} has been set, the default is used. The Android library
+ * installs its own default as soon as it is used, and is otherwise looked up
+ * by name. On a plain JVM, the calling thread is treated as the UI thread and
+ * work runs immediately.
+ */
+public class UIThread {
+
+	/**
+	 * Interface for an object which knows what the UI thread is and how to
+	 * post work to it.
+	 */
+	public interface Poster {
+		/**
+		 * @return True if this was called from the UI thread.
+		 */
+		public boolean isOnUIThread();
+
+		/**
+		 * Posts the given {@link Runnable} to be run on the UI thread later,
+		 * even if this was called from the UI thread.
+		 * @param action The {@link Runnable} to run.
+		 */
+		public void post(Runnable action);
+	}
+
+	private static final String ANDROID_POSTER_CLASS = "com.raizlabs.baseutils.AndroidUIThreadPoster";
+
+	/**
+	 * Holds the {@link Poster} used when neither a poster nor a default has
+	 * been set. This is created the first time it is used.
+	 */
+	private static class FallbackPosterHolder {
+		static final Poster INSTANCE = createFallbackPoster();
+	}
+
+	private static volatile Poster poster;
+	private static volatile Poster defaultPoster;
+
+	/**
+	 * Sets the {@link Poster} which UI thread work is handed to.
+	 * @param uiPoster The {@link Poster} to use, or null to use the default.
+	 */
+	public static void setPoster(Poster uiPoster) {
+		poster = uiPoster;
+	}
+
+	/**
+	 * Sets the {@link Poster} which UI thread work is handed to when none has
+	 * been set via {@link #setPoster(Poster)}. This is intended for platform
+	 * libraries to install their implementation without overriding one the
+	 * app has chosen.
+	 * @param uiPoster The {@link Poster} to use by default.
+	 */
+	public static void setDefaultPoster(Poster uiPoster) {
+		defaultPoster = uiPoster;
+	}
+
+	/**
+	 * @return The {@link Poster} which UI thread work is handed to.
+	 */
+	public static Poster getPoster() {
+		Poster current = poster;
+		if (current != null) return current;
+		current = defaultPoster;
+		return (current != null) ? current : FallbackPosterHolder.INSTANCE;
+	}
+
+	/**
+	 * @return True if this was called from the UI thread.
+	 */
+	public static boolean isOnUIThread() {
+		return getPoster().isOnUIThread();
+	}
+
+	/**
+	 * Runs the given {@link Runnable} on the UI thread. This will execute
+	 * immediately, before this function returns, if this function was called
+	 * on the UI thread. Otherwise, the {@link Runnable} will be posted.
+	 * @param action The {@link Runnable} to run.
+	 * @return True if the action was already executed before this function
+	 * returned, or false if the action was posted to be handled later.
+	 */
+	public static boolean run(Runnable action) {
+		final Poster current = getPoster();
+		if (current.isOnUIThread()) {
+			action.run();
+			return true;
+		} else {
+			current.post(action);
+			return false;
+		}
+	}
+
+	/**
+	 * Posts the given {@link Runnable} to be run on the UI thread later, even
+	 * if this was called from the UI thread.
+	 * @param action The {@link Runnable} to run.
+	 */
+	public static void post(Runnable action) {
+		getPoster().post(action);
+	}
+
+	private static Poster createFallbackPoster() {
+		try {
+			return (Poster) Class.forName(ANDROID_POSTER_CLASS).getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			// Running work on the wrong thread would fail in confusing ways
+			// later, so fail loudly if the Android poster has been stripped
+			if (isAndroid()) {
+				throw new IllegalStateException(ANDROID_POSTER_CLASS + " is missing. Keep it when minifying, "
+						+ "or call UIThread.setPoster() before using UIThread.", e);
+			}
+		} catch (Exception e) {
+			throw new IllegalStateException("Couldn't create " + ANDROID_POSTER_CLASS, e);
+		}
+		return new CallingThreadPoster();
+	}
+
+	private static boolean isAndroid() {
+		// Reported by both Dalvik and ART
+		return "Dalvik".equals(System.getProperty("java.vm.name"));
+	}
+
+	/**
+	 * {@link Poster} which treats every thread as the UI thread and runs work
+	 * immediately.
+	 */
+	private static class CallingThreadPoster implements Poster {
+		@Override
+		public boolean isOnUIThread() {
+			return true;
+		}
+
+		@Override
+		public void post(Runnable action) {
+			action.run();
+		}
+	}
+}
@@ -0,0 +1,342 @@
+package com.raizlabs.concurrent;
+
+import java.util.LinkedList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link Executor} intended for high volumes of short work, such as preparing
+ * rows or scaling thumbnails. Instead of every thread contending on a single
+ * shared queue, each worker thread has its own deque. Work submitted from a
+ * worker goes onto that worker's deque, and other work is spread across the
+ * deques. Workers take their own newest work first, and when they run out,
+ * steal the oldest work from other workers.
+ * <br><br>
+ * Work which implements {@link Prioritized} is sorted into high, normal and
+ * low bands, with {@link Prioritized.Priority#MORE_FAVORABLE} and above
+ * being high and {@link Prioritized.Priority#LESS_FAVORABLE} and below being
+ * low. A worker only runs work from a band once no higher band has work on
+ * any deque. Order is not otherwise guaranteed.
+ */
+public class WorkStealingExecutor implements Executor {
+
+	private static final int BAND_HIGH = 0;
+	private static final int BAND_NORMAL = 1;
+	private static final int BAND_LOW = 2;
+	private static final int BAND_COUNT = 3;
+
+	/**
+	 * How long an idle worker parks before checking for work again, in case
+	 * a wake up was missed.
+	 */
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private final Worker[] workers;
+	private final AtomicInteger nextWorker;
+	private final AtomicInteger idleCount;
+	private final AtomicLong stealCount;
+	private final AtomicLong completedCount;
+	private volatile boolean shutdown;
+
+	/**
+	 * Creates a {@link WorkStealingExecutor} with one daemon worker per
+	 * processor.
+	 */
+	public WorkStealingExecutor() {
+		this(ConcurrencyUtils.getProcessorCount(), "WorkStealingExecutor");
+	}
+
+	/**
+	 * Creates a {@link WorkStealingExecutor} which runs the given number of
+	 * daemon workers.
+	 * @param parallelism The number of worker threads.
+	 * @param namePrefix The prefix for the names of the threads.
+	 */
+	public WorkStealingExecutor(int parallelism, String namePrefix) {
+		this(parallelism, ConcurrencyUtils.createDaemonThreadFactory(namePrefix));
+	}
+
+	/**
+	 * Creates a {@link WorkStealingExecutor} which runs the given number of
+	 * workers created by the given {@link ThreadFactory}.
+	 * @param parallelism The number of worker threads.
+	 * @param threadFactory The {@link ThreadFactory} to create threads with.
+	 */
+	public WorkStealingExecutor(int parallelism, ThreadFactory threadFactory) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1");
+		}
+		nextWorker = new AtomicInteger();
+		idleCount = new AtomicInteger();
+		stealCount = new AtomicLong();
+		completedCount = new AtomicLong();
+
+		workers = new Worker[parallelism];
+		for (int i = 0; i < parallelism; i++) {
+			workers[i] = new Worker(i);
+		}
+		for (Worker worker : workers) {
+			worker.thread = threadFactory.newThread(worker);
+			worker.thread.start();
+		}
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (command == null) throw new NullPointerException();
+		if (shutdown) {
+			throw new RejectedExecutionException("Executor has been shut down");
+		}
+
+		final int band = getBand(command);
+		Worker target = getCurrentWorker();
+		if (target == null) {
+			// Not one of our threads, so spread the work around
+			target = workers[(nextWorker.getAndIncrement() & Integer.MAX_VALUE) % workers.length];
+		}
+		target.deque.push(command, band);
+
+		if (idleCount.get() > 0) {
+			wakeIdleWorker(target);
+		}
+	}
+
+	/**
+	 * @return The number of worker threads.
+	 */
+	public int getParallelism() {
+		return workers.length;
+	}
+
+	/**
+	 * @return The number of pieces of work which are waiting to be run.
+	 */
+	public int getQueuedTaskCount() {
+		int count = 0;
+		for (Worker worker : workers) {
+			count += worker.deque.size;
+		}
+		return count;
+	}
+
+	/**
+	 * @return The number of pieces of work which have been run.
+	 */
+	public long getCompletedTaskCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * @return The number of pieces of work which were run by a worker other
+	 * than the one they were queued on.
+	 */
+	public long getStealCount() {
+		return stealCount.get();
+	}
+
+	/**
+	 * Stops accepting new work. Work which has already been submitted will
+	 * still be run, after which the workers exit.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		for (Worker worker : workers) {
+			LockSupport.unpark(worker.thread);
+		}
+	}
+
+	/**
+	 * @return True if {@link #shutdown()} has been called.
+	 */
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Blocks until all work has finished after a call to {@link #shutdown()},
+	 * or until the given timeout elapses.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if all workers have exited, false if the timeout elapsed
+	 * first.
+	 * @throws InterruptedException if the calling thread is interrupted while
+	 * waiting.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (Worker worker : workers) {
+			final long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) return !isAnyAlive();
+			TimeUnit.NANOSECONDS.timedJoin(worker.thread, remaining);
+		}
+		return !isAnyAlive();
+	}
+
+	private boolean isAnyAlive() {
+		for (Worker worker : workers) {
+			if (worker.thread.isAlive()) return true;
+		}
+		return false;
+	}
+
+	private static int getBand(Runnable command) {
+		if (command instanceof Prioritized) {
+			final int priority = ((Prioritized) command).getPriority();
+			if (priority >= Prioritized.Priority.MORE_FAVORABLE) return BAND_HIGH;
+			if (priority <= Prioritized.Priority.LESS_FAVORABLE) return BAND_LOW;
+		}
+		return BAND_NORMAL;
+	}
+
+	private Worker getCurrentWorker() {
+		final Thread current = Thread.currentThread();
+		for (Worker worker : workers) {
+			if (worker.thread == current) return worker;
+		}
+		return null;
+	}
+
+	private void wakeIdleWorker(Worker preferred) {
+		if (preferred.idle) {
+			LockSupport.unpark(preferred.thread);
+			return;
+		}
+		for (Worker worker : workers) {
+			if (worker.idle) {
+				LockSupport.unpark(worker.thread);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds the next piece of work for the given worker, taking its own work
+	 * before stealing, and higher bands before lower ones.
+	 */
+	private Runnable findWork(Worker worker) {
+		for (int band = 0; band < BAND_COUNT; band++) {
+			Runnable work = worker.deque.popNewest(band);
+			if (work != null) return work;
+
+			// Start with a different victim each time to spread the stealing
+			final int start = worker.nextVictim++;
+			for (int i = 1; i < workers.length; i++) {
+				final Worker victim = workers[(start + i) % workers.length];
+				if (victim == worker) continue;
+				work = victim.deque.pollOldest(band);
+				if (work != null) {
+					stealCount.incrementAndGet();
+					return work;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void runWorker(Worker worker) {
+		while (true) {
+			Runnable work = findWork(worker);
+			if (work != null) {
+				try {
+					work.run();
+				} catch (Throwable t) {
+					// Report it like a pool thread would, but keep the worker,
+					// since its deque still receives a share of new work
+					final Thread thread = Thread.currentThread();
+					final Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+					if (handler != null) handler.uncaughtException(thread, t);
+				}
+				completedCount.incrementAndGet();
+				continue;
+			}
+
+			if (shutdown) {
+				// Nothing left anywhere, so we're done
+				return;
+			}
+
+			worker.idle = true;
+			idleCount.incrementAndGet();
+			// Check once more now that submitters can see we're idle, so we
+			// can't miss work which was queued while we were looking
+			if (getQueuedTaskCount() == 0 && !shutdown) {
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+			idleCount.decrementAndGet();
+			worker.idle = false;
+		}
+	}
+
+	private class Worker implements Runnable {
+		final WorkDeque deque;
+		Thread thread;
+		volatile boolean idle;
+		int nextVictim;
+
+		Worker(int index) {
+			deque = new WorkDeque();
+			nextVictim = index;
+		}
+
+		@Override
+		public void run() {
+			runWorker(this);
+		}
+	}
+
+	/**
+	 * A worker's queue of work, split by band. The owning worker takes from
+	 * the newest end while thieves take from the oldest end. Each deque has
+	 * its own lock, so workers only contend when stealing from the same
+	 * victim.
+	 * <br><br>
+	 * Each band is a {@link LinkedList}, used through its own methods, since
+	 * {@link java.util.ArrayDeque} and {@link java.util.Deque} need API 9.
+	 */
+	private static class WorkDeque {
+		private final LinkedList<Runnable>[] bands;
+		/**
+		 * The total amount of work in this deque, so empty deques may be
+		 * skipped without locking.
+		 */
+		volatile int size;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		WorkDeque() {
+			bands = new LinkedList[BAND_COUNT];
+			for (int i = 0; i < BAND_COUNT; i++) {
+				bands[i] = new LinkedList<Runnable>();
+			}
+		}
+
+		synchronized void push(Runnable work, int band) {
+			bands[band].addLast(work);
+			size++;
+		}
+
+		Runnable popNewest(int band) {
+			if (size == 0) return null;
+			synchronized (this) {
+				final LinkedList<Runnable> queue = bands[band];
+				if (queue.isEmpty()) return null;
+				size--;
+				return queue.removeLast();
+			}
+		}
+
+		Runnable pollOldest(int band) {
+			if (size == 0) return null;
+			synchronized (this) {
+				final LinkedList<Runnable> queue = bands[band];
+				if (queue.isEmpty()) return null;
+				size--;
+				return queue.removeFirst();
+			}
+		}
+	}
+}
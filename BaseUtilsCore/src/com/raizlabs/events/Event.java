@@ -0,0 +1,283 @@
+package com.raizlabs.events;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import com.raizlabs.concurrent.ConcurrencyUtils;
+import com.raizlabs.concurrent.UIThread;
+import com.raizlabs.metrics.LibraryMetrics;
+
+/**
+ * Class which represents an Event with arguments of type T.
+ * @author Dylan James
+ *
+ * @param <T>
+ */
+public class Event<T> {
+
+	/**
+	 * Modes which determine how and where a listener is notified when an
+	 * {@link Event} is raised.
+	 */
+	public static final class DispatchMode {
+		/**
+		 * The listener is called synchronously on the thread which raised the
+		 * event, before {@link Event#raiseEvent(Object, Object)} returns.
+		 */
+		public static final int POSTING = 0;
+		/**
+		 * The listener is called on the UI thread via
+		 * {@link UIThread#run(Runnable)}. If the event is
+		 * raised on the UI thread, the listener is called immediately.
+		 */
+		public static final int UI_THREAD = 1;
+		/**
+		 * The listener is called on a background {@link Executor}. Raises are
+		 * still delivered to the listener one at a time, in order.
+		 */
+		public static final int BACKGROUND = 2;
+		/**
+		 * The listener is called on the UI thread, but only with the most
+		 * recent raise. Any raises which happen before the listener gets to
+		 * run are dropped in favor of the newest one.
+		 */
+		public static final int LATEST_ONLY = 3;
+	}
+
+	private HashMap<EventListener<T>, ListenerDispatcher<T>> listeners;
+	private HashMap<EventListener<T>, ListenerDispatcher<T>> listenersToAdd;
+	private HashSet<EventListener<T>> listenersToRemove;
+	/**
+	 * Listeners which are only weakly referenced. These are found by scanning
+	 * and are pruned lazily once their listener has been garbage collected.
+	 */
+	private ArrayList<ListenerDispatcher<T>> weakListeners;
+	private boolean raisingEvent;
+
+	/**
+	 * Creates a new RZEvent
+	 */
+	public Event() {
+		listeners = new HashMap<EventListener<T>, ListenerDispatcher<T>>();
+		listenersToAdd = new HashMap<EventListener<T>, ListenerDispatcher<T>>();
+		listenersToRemove = new HashSet<EventListener<T>>();
+		weakListeners = new ArrayList<ListenerDispatcher<T>>();
+		raisingEvent = false;
+	}
+
+	/**
+	 * Adds an RZEventListener to be notified when this event happens.
+	 * The listener will be called using {@link DispatchMode#POSTING}.
+	 * @param listener The listener to be notified.
+	 */
+	public void addListener(EventListener<T> listener) {
+		addListener(listener, DispatchMode.POSTING);
+	}
+
+	/**
+	 * Adds an RZEventListener to be notified when this event happens, using
+	 * the given {@link DispatchMode}. Listeners added with
+	 * {@link DispatchMode#BACKGROUND} are called on the shared
+	 * {@link ConcurrencyUtils#getComputationExecutor()}. If the listener is
+	 * already registered, its mode will be replaced.
+	 * @param listener The listener to be notified.
+	 * @param dispatchMode The {@link DispatchMode} to notify the listener with.
+	 */
+	public void addListener(EventListener<T> listener, int dispatchMode) {
+		if (listener != null) {
+			Executor executor = (dispatchMode == DispatchMode.BACKGROUND) ?
+					ConcurrencyUtils.getComputationExecutor() : null;
+			addDispatcher(new ListenerDispatcher<T>(listener, dispatchMode, executor, false));
+		}
+	}
+
+	/**
+	 * Adds an RZEventListener to be notified on the given {@link Executor}
+	 * when this event happens, as in {@link DispatchMode#BACKGROUND}. If the
+	 * listener is already registered, its mode will be replaced.
+	 * @param listener The listener to be notified.
+	 * @param executor The {@link Executor} to notify the listener on.
+	 */
+	public void addListener(EventListener<T> listener, Executor executor) {
+		if (listener != null) {
+			addDispatcher(new ListenerDispatcher<T>(listener, DispatchMode.BACKGROUND, executor, false));
+		}
+	}
+
+	/**
+	 * Adds an RZEventListener to be notified when this event happens, but only
+	 * holds a weak reference to it. The listener will be dropped once it is
+	 * garbage collected, so it does not need to be removed to avoid leaking
+	 * it, but the caller must keep its own reference for as long as it
+	 * should be notified. The listener will be called using
+	 * {@link DispatchMode#POSTING}.
+	 * @param listener The listener to be notified.
+	 */
+	public void addWeakListener(EventListener<T> listener) {
+		addWeakListener(listener, DispatchMode.POSTING);
+	}
+
+	/**
+	 * Adds an RZEventListener to be notified when this event happens, using
+	 * the given {@link DispatchMode}, but only holds a weak reference to it.
+	 * @see #addWeakListener(EventListener)
+	 * @param listener The listener to be notified.
+	 * @param dispatchMode The {@link DispatchMode} to notify the listener with.
+	 */
+	public void addWeakListener(EventListener<T> listener, int dispatchMode) {
+		if (listener != null) {
+			Executor executor = (dispatchMode == DispatchMode.BACKGROUND) ?
+					ConcurrencyUtils.getComputationExecutor() : null;
+			ListenerDispatcher<T> dispatcher =
+					new ListenerDispatcher<T>(listener, dispatchMode, executor, true);
+			synchronized (this) {
+				// Replace any existing registration
+				removeListener(listener);
+				// Weak listeners added during a raise are appended past the
+				// point the raise will iterate to, so they won't be called
+				weakListeners.add(dispatcher);
+			}
+		}
+	}
+
+	private void addDispatcher(ListenerDispatcher<T> dispatcher) {
+		EventListener<T> listener = dispatcher.getListener();
+		synchronized (this) {
+			removeWeakListener(listener);
+			// If the event is currently being raised, we can't modify the collection
+			// Add it to the toAdd collection
+			if (raisingEvent) {
+				listenersToRemove.remove(listener);
+				listenersToAdd.put(listener, dispatcher);
+			} else {
+				ListenerDispatcher<T> previous = listeners.put(listener, dispatcher);
+				if (previous != null) previous.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes an RZEventListener so it will no longer be notified of
+	 * this event. Any notifications which have been scheduled for the
+	 * listener but not yet delivered will be dropped.
+	 * @param listener The RZEventListener to be removed.
+	 * @return True if the listener was removed, false if it wasn't found.
+	 */
+	public boolean removeListener(EventListener<T> listener) {
+		synchronized (this) {
+			// If the event is currently being raised, we can't modify the collection
+			// Add it to the toRemove collection
+			if (raisingEvent) {
+				ListenerDispatcher<T> pending = listenersToAdd.remove(listener);
+				ListenerDispatcher<T> current = listeners.get(listener);
+				if (pending != null) pending.remove();
+				if (current != null) current.remove();
+				listenersToRemove.add(listener);
+				return removeWeakListener(listener) || current != null || pending != null;
+			} else {
+				ListenerDispatcher<T> current = listeners.remove(listener);
+				if (current != null) current.remove();
+				return removeWeakListener(listener) || current != null;
+			}
+		}
+	}
+
+	private boolean removeWeakListener(EventListener<T> listener) {
+		if (listener == null) return false;
+		boolean found = false;
+		Iterator<ListenerDispatcher<T>> iter = weakListeners.iterator();
+		while (iter.hasNext()) {
+			ListenerDispatcher<T> dispatcher = iter.next();
+			if (!dispatcher.isDead() && listener.equals(dispatcher.getListener())) {
+				dispatcher.remove();
+				// If the event is currently being raised, leave it to be pruned
+				if (!raisingEvent) iter.remove();
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	private void pruneWeakListeners() {
+		Iterator<ListenerDispatcher<T>> iter = weakListeners.iterator();
+		while (iter.hasNext()) {
+			if (iter.next().isDead()) iter.remove();
+		}
+	}
+
+	/**
+	 * Raises this event and notifies its listeners.
+	 * @param sender The object raising the even.
+	 * @param args The arguments to the event which will be passed to the listeners.
+	 */
+	public void raiseEvent(Object sender, T args) {
+		final boolean recordMetrics = LibraryMetrics.isEnabled();
+		final long startNanos = recordMetrics ? System.nanoTime() : 0;
+		synchronized (this) {
+			raisingEvent = true;
+			listenersToAdd.clear();
+			listenersToRemove.clear();
+			try {
+				for (ListenerDispatcher<T> dispatcher : listeners.values()) {
+					// Don't raise the event if the listener is flagged to be removed.
+					if (!listenersToRemove.contains(dispatcher.getListener())) {
+						dispatcher.dispatch(sender, args);
+					}
+				}
+
+				boolean needsPrune = false;
+				final int numWeakListeners = weakListeners.size();
+				for (int i = 0; i < numWeakListeners; i++) {
+					ListenerDispatcher<T> dispatcher = weakListeners.get(i);
+					if (dispatcher.isDead()) {
+						needsPrune = true;
+					} else {
+						dispatcher.dispatch(sender, args);
+					}
+				}
+				if (needsPrune) pruneWeakListeners();
+			} finally {
+				for (EventListener<T> listener : listenersToRemove) {
+					listeners.remove(listener);
+				}
+
+				for (Map.Entry<EventListener<T>, ListenerDispatcher<T>> entry : listenersToAdd.entrySet()) {
+					ListenerDispatcher<T> previous = listeners.put(entry.getKey(), entry.getValue());
+					if (previous != null) previous.remove();
+				}
+				raisingEvent = false;
+			}
+		}
+		if (recordMetrics) LibraryMetrics.EVENT_DISPATCH_TIME.recordSince(startNanos);
+	}
+
+	/**
+	 * Clears all listeners from this event.
+	 */
+	public void clear() {
+		synchronized (this) {
+			for (ListenerDispatcher<T> dispatcher : listeners.values()) {
+				dispatcher.remove();
+			}
+			for (ListenerDispatcher<T> dispatcher : weakListeners) {
+				dispatcher.remove();
+			}
+			// If the event is currently being raised, we can't modify the collection
+			// Add all of the current listeners to the toRemove collection
+			if (raisingEvent) {
+				for (ListenerDispatcher<T> dispatcher : listenersToAdd.values()) {
+					dispatcher.remove();
+				}
+				listenersToAdd.clear();
+				listenersToRemove.addAll(listeners.keySet());
+			} else {
+				listeners.clear();
+				weakListeners.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.raizlabs.events;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.raizlabs.concurrent.UIThread;
+import com.raizlabs.events.Event.DispatchMode;
+
+/**
+ * Class which delivers the raises of an {@link Event} to a single
+ * {@link EventListener} according to one of the {@link DispatchMode}s.
+ *
+ * @param <T> The type of the arguments of the event.
+ */
+class ListenerDispatcher<T> {
+
+	/**
+	 * The listener, if it is strongly referenced.
+	 */
+	private final EventListener<T> listener;
+	/**
+	 * The listener, if it is weakly referenced.
+	 */
+	private final WeakReference<EventListener<T>> listenerRef;
+	private final int mode;
+	private final Executor executor;
+	private volatile boolean removed;
+
+	/**
+	 * Raises waiting to be delivered in {@link DispatchMode#BACKGROUND}.
+	 */
+	private ConcurrentLinkedQueue<Raise<T>> pendingRaises;
+	/**
+	 * The most recent raise waiting to be delivered in
+	 * {@link DispatchMode#LATEST_ONLY}.
+	 */
+	private AtomicReference<Raise<T>> latestRaise;
+	/**
+	 * True while a drain of the pending raises is scheduled or running.
+	 */
+	private AtomicBoolean drainScheduled;
+
+	private final Runnable drainRunnable = new Runnable() {
+		@Override
+		public void run() {
+			drain();
+		}
+	};
+
+	/**
+	 * Creates a {@link ListenerDispatcher} which delivers to the given
+	 * listener.
+	 * @param listener The listener to deliver to.
+	 * @param mode The {@link DispatchMode} to deliver with.
+	 * @param executor The {@link Executor} to deliver on when in
+	 * {@link DispatchMode#BACKGROUND}.
+	 * @param weak True to only hold a weak reference to the listener.
+	 */
+	ListenerDispatcher(EventListener<T> listener, int mode, Executor executor, boolean weak) {
+		if (weak) {
+			this.listener = null;
+			this.listenerRef = new WeakReference<EventListener<T>>(listener);
+		} else {
+			this.listener = listener;
+			this.listenerRef = null;
+		}
+		this.mode = mode;
+		this.executor = executor;
+
+		switch (mode) {
+		case DispatchMode.POSTING:
+		case DispatchMode.UI_THREAD:
+			break;
+		case DispatchMode.BACKGROUND:
+			if (executor == null) {
+				throw new IllegalArgumentException("Background dispatch requires an Executor");
+			}
+			pendingRaises = new ConcurrentLinkedQueue<Raise<T>>();
+			drainScheduled = new AtomicBoolean();
+			break;
+		case DispatchMode.LATEST_ONLY:
+			latestRaise = new AtomicReference<Raise<T>>();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown dispatch mode: " + mode);
+		}
+	}
+
+	/**
+	 * @return The listener, or null if it was weakly referenced and has been
+	 * garbage collected.
+	 */
+	EventListener<T> getListener() {
+		return (listenerRef != null) ? listenerRef.get() : listener;
+	}
+
+	/**
+	 * Marks this dispatcher as removed so that no deliveries which are still
+	 * pending will be made.
+	 */
+	void remove() { removed = true; }
+
+	/**
+	 * @return True if this dispatcher has been removed or its weakly
+	 * referenced listener has been garbage collected.
+	 */
+	boolean isDead() {
+		return removed || (listenerRef != null && listenerRef.get() == null);
+	}
+
+	private void deliver(Object sender, T args) {
+		if (removed) return;
+		EventListener<T> target = getListener();
+		if (target != null) target.onEvent(sender, args);
+	}
+
+	/**
+	 * Delivers the given raise to the listener according to our mode.
+	 * @param sender The object raising the event.
+	 * @param args The arguments to the event.
+	 */
+	void dispatch(final Object sender, final T args) {
+		if (removed) return;
+
+		switch (mode) {
+		case DispatchMode.POSTING:
+			deliver(sender, args);
+			break;
+		case DispatchMode.UI_THREAD:
+			UIThread.run(new Runnable() {
+				@Override
+				public void run() {
+					deliver(sender, args);
+				}
+			});
+			break;
+		case DispatchMode.BACKGROUND:
+			pendingRaises.add(new Raise<T>(sender, args));
+			if (drainScheduled.compareAndSet(false, true)) {
+				executor.execute(drainRunnable);
+			}
+			break;
+		case DispatchMode.LATEST_ONLY:
+			// Only schedule a delivery if there wasn't already one waiting,
+			// otherwise the waiting delivery will pick up this raise
+			if (latestRaise.getAndSet(new Raise<T>(sender, args)) == null) {
+				UIThread.post(drainRunnable);
+			}
+			break;
+		}
+	}
+
+	private void drain() {
+		if (mode == DispatchMode.LATEST_ONLY) {
+			Raise<T> raise = latestRaise.getAndSet(null);
+			if (raise != null) deliver(raise.sender, raise.args);
+		} else {
+			// Deliver serially so that this listener sees raises in order
+			try {
+				Raise<T> raise;
+				while ((raise = pendingRaises.poll()) != null) {
+					deliver(raise.sender, raise.args);
+				}
+			} finally {
+				drainScheduled.set(false);
+			}
+			// If something was queued after we emptied the queue but before
+			// we lowered the flag, nobody else will have scheduled a drain
+			if (!pendingRaises.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+				executor.execute(drainRunnable);
+			}
+		}
+	}
+
+	private static class Raise<T> {
+		final Object sender;
+		final T args;
+
+		Raise(Object sender, T args) {
+			this.sender = sender;
+			this.args = args;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.raizlabs.functions;
+
+/**
+ * Interface which transforms a given item into a result.
+ *
+ * @param <Input> The type of item to transform.
+ * @param <Output> The type of the result.
+ */
+public interface Transformer<Input, Output> {
+
+	/**
+	 * Transforms the given item.
+	 * @param item The item to transform.
+	 * @return The result for the given item.
+	 */
+	public Output transform(Input item);
+}
@@ -0,0 +1,33 @@
+package com.raizlabs.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free count of how many times something has happened.
+ */
+public class Counter {
+
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * Adds one to this counter.
+	 */
+	public void increment() {
+		count.incrementAndGet();
+	}
+
+	/**
+	 * Adds the given amount to this counter.
+	 * @param amount The amount to add.
+	 */
+	public void add(long amount) {
+		count.addAndGet(amount);
+	}
+
+	/**
+	 * @return The current count.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+}
@@ -0,0 +1,41 @@
+package com.raizlabs.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free value which may go up and down, such as the number of items in
+ * flight or the current size of a cache.
+ */
+public class Gauge {
+
+	private final AtomicLong value = new AtomicLong();
+
+	/**
+	 * Sets the value of this gauge.
+	 * @param value The new value.
+	 */
+	public void set(long value) {
+		this.value.set(value);
+	}
+
+	/**
+	 * Adds one to the value of this gauge.
+	 */
+	public void increment() {
+		value.incrementAndGet();
+	}
+
+	/**
+	 * Subtracts one from the value of this gauge.
+	 */
+	public void decrement() {
+		value.decrementAndGet();
+	}
+
+	/**
+	 * @return The current value.
+	 */
+	public long getValue() {
+		return value.get();
+	}
+}
@@ -0,0 +1,103 @@
+package com.raizlabs.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative values, such as latencies in
+ * nanoseconds. Values are counted in buckets whose width grows with the
+ * value, so every value from zero to {@link Long#MAX_VALUE} is tracked in a
+ * fixed amount of memory with a relative error of at most about 6%.
+ * <br><br>
+ * Recording a value is a few atomic operations and never allocates, so this
+ * is suitable for hot paths. Use {@link #getSnapshot()} to read percentiles.
+ */
+public class Histogram {
+
+	/**
+	 * The number of bits of precision kept for each value. Each power of two
+	 * range is split into 2^SUB_BUCKET_BITS buckets.
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets;
+	private final AtomicLong count;
+	private final AtomicLong sum;
+	private final AtomicLong min;
+	private final AtomicLong max;
+
+	/**
+	 * Constructs an empty {@link Histogram}.
+	 */
+	public Histogram() {
+		buckets = new AtomicLongArray(BUCKET_COUNT);
+		count = new AtomicLong();
+		sum = new AtomicLong();
+		min = new AtomicLong(Long.MAX_VALUE);
+		max = new AtomicLong(Long.MIN_VALUE);
+	}
+
+	/**
+	 * Records the given value. Negative values are recorded as zero.
+	 * @param value The value to record.
+	 */
+	public void record(long value) {
+		if (value < 0) value = 0;
+		buckets.incrementAndGet(getBucketIndex(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+
+		long current;
+		while (value < (current = min.get())) {
+			if (min.compareAndSet(current, value)) break;
+		}
+		while (value > (current = max.get())) {
+			if (max.compareAndSet(current, value)) break;
+		}
+	}
+
+	/**
+	 * Records the time elapsed since the given start time.
+	 * @param startNanos A start time obtained from {@link System#nanoTime()}.
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * @return A snapshot of the values recorded so far. Values which are
+	 * recorded while the snapshot is being taken may or may not be included.
+	 */
+	public HistogramSnapshot getSnapshot() {
+		final long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		return new HistogramSnapshot(counts, total, sum.get(), min.get(), max.get());
+	}
+
+	static int getBucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) return (int) value;
+		// The position of the highest bit determines the power of two range,
+		// and the bits below it pick the bucket within that range
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		final int shift = magnitude - SUB_BUCKET_BITS;
+		final int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+		return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * @return The largest value which falls in the given bucket.
+	 */
+	static long getBucketUpperBound(int index) {
+		if (index < SUB_BUCKET_COUNT) return index;
+		final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+		final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+		final long lowerBound = (SUB_BUCKET_COUNT + subBucket) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+}
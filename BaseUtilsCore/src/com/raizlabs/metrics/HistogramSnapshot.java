@@ -0,0 +1,79 @@
+package com.raizlabs.metrics;
+
+/**
+ * An immutable view of the values recorded by a {@link Histogram} at a point
+ * in time.
+ */
+public class HistogramSnapshot {
+
+	private final long[] counts;
+	private final long count;
+	private final long sum;
+	private final long min;
+	private final long max;
+
+	HistogramSnapshot(long[] counts, long count, long sum, long min, long max) {
+		this.counts = counts;
+		this.count = count;
+		this.sum = sum;
+		this.min = (count > 0) ? min : 0;
+		this.max = (count > 0) ? max : 0;
+	}
+
+	/**
+	 * @return The number of values recorded.
+	 */
+	public long getCount() { return count; }
+
+	/**
+	 * @return The smallest value recorded, or zero if none were.
+	 */
+	public long getMin() { return min; }
+
+	/**
+	 * @return The largest value recorded, or zero if none were.
+	 */
+	public long getMax() { return max; }
+
+	/**
+	 * @return The mean of the values recorded, or zero if none were.
+	 */
+	public double getMean() {
+		return (count > 0) ? (double) sum / count : 0;
+	}
+
+	/**
+	 * Gets the value below which the given percentage of recorded values
+	 * fall. The result is accurate to the width of the bucket it falls in.
+	 * @param percentile The percentile to get, from 0 to 100.
+	 * @return The value at the given percentile, or zero if no values were
+	 * recorded.
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0) return 0;
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100");
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.max(min, Math.min(max, Histogram.getBucketUpperBound(i)));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return The median of the values recorded.
+	 */
+	public long getMedian() { return getPercentile(50); }
+
+	@Override
+	public String toString() {
+		return String.format("count=%d min=%d mean=%.1f p50=%d p90=%d p99=%d max=%d",
+				count, min, getMean(), getPercentile(50), getPercentile(90), getPercentile(99), max);
+	}
+}
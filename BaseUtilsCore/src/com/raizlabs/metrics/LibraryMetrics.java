@@ -0,0 +1,68 @@
+package com.raizlabs.metrics;
+
+/**
+ * The metrics which the library records about itself, registered in
+ * {@link MetricsRegistry#getDefault()}. Recording is disabled by default so
+ * that it costs nothing, and may be turned on via {@link #setEnabled(boolean)}.
+ * <br><br>
+ * Times are recorded in nanoseconds.
+ */
+public class LibraryMetrics {
+
+	private static volatile boolean enabled = false;
+
+	/**
+	 * Sets whether the library records its metrics.
+	 * @param enabled True to record metrics.
+	 */
+	public static void setEnabled(boolean enabled) {
+		LibraryMetrics.enabled = enabled;
+	}
+
+	/**
+	 * @return True if the library is recording its metrics.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+
+	/**
+	 * The time taken to raise an {@link com.raizlabs.events.Event} to all of
+	 * its listeners.
+	 */
+	public static final Histogram EVENT_DISPATCH_TIME = REGISTRY.getHistogram("events.dispatchTime");
+
+	/**
+	 * The number of times an adapter has requested a data set change
+	 * notification, including requests which were coalesced.
+	 */
+	public static final Counter ADAPTER_NOTIFY_REQUESTS = REGISTRY.getCounter("adapters.notifyRequests");
+	/**
+	 * The number of data set change notifications adapters have delivered.
+	 */
+	public static final Counter ADAPTER_NOTIFICATIONS = REGISTRY.getCounter("adapters.notifications");
+
+	/**
+	 * The number of async drawable tasks which were bound and need to run.
+	 */
+	public static final Counter DRAWABLE_TASKS_BOUND = REGISTRY.getCounter("drawableTasks.bound");
+	/**
+	 * The number of async drawable tasks which were cancelled.
+	 */
+	public static final Counter DRAWABLE_TASKS_CANCELLED = REGISTRY.getCounter("drawableTasks.cancelled");
+	/**
+	 * The number of async drawable tasks which completed their work.
+	 */
+	public static final Counter DRAWABLE_TASKS_COMPLETED = REGISTRY.getCounter("drawableTasks.completed");
+	/**
+	 * The time from an async drawable task being bound until it started
+	 * executing.
+	 */
+	public static final Histogram DRAWABLE_TASK_QUEUE_TIME = REGISTRY.getHistogram("drawableTasks.queueTime");
+	/**
+	 * The time taken by an async drawable task's work.
+	 */
+	public static final Histogram DRAWABLE_TASK_EXECUTE_TIME = REGISTRY.getHistogram("drawableTasks.executeTime");
+}
@@ -0,0 +1,125 @@
+package com.raizlabs.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.raizlabs.concurrent.ConcurrencyUtils;
+import com.raizlabs.functions.Provider;
+
+/**
+ * Class which holds named {@link Counter}s, {@link Gauge}s and
+ * {@link Histogram}s, and takes snapshots of all of them for export.
+ * <br><br>
+ * Looking up a metric by name costs a hash lookup, so code on a hot path
+ * should look its metrics up once and keep them.
+ */
+public class MetricsRegistry {
+
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+	/**
+	 * @return The shared {@link MetricsRegistry} which the library's own
+	 * metrics are registered in.
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	private static final Provider<Counter> COUNTER_PROVIDER = new Provider<Counter>() {
+		@Override
+		public Counter obtainProvided() {
+			return new Counter();
+		}
+	};
+
+	private static final Provider<Gauge> GAUGE_PROVIDER = new Provider<Gauge>() {
+		@Override
+		public Gauge obtainProvided() {
+			return new Gauge();
+		}
+	};
+
+	private static final Provider<Histogram> HISTOGRAM_PROVIDER = new Provider<Histogram>() {
+		@Override
+		public Histogram obtainProvided() {
+			return new Histogram();
+		}
+	};
+
+	private final ConcurrentHashMap<String, Counter> counters;
+	private final ConcurrentHashMap<String, Gauge> gauges;
+	private final ConcurrentHashMap<String, Histogram> histograms;
+
+	/**
+	 * Constructs an empty {@link MetricsRegistry}.
+	 */
+	public MetricsRegistry() {
+		counters = new ConcurrentHashMap<String, Counter>();
+		gauges = new ConcurrentHashMap<String, Gauge>();
+		histograms = new ConcurrentHashMap<String, Histogram>();
+	}
+
+	/**
+	 * Gets the {@link Counter} with the given name, creating it if it doesn't
+	 * exist.
+	 * @param name The name of the counter.
+	 * @return The {@link Counter}.
+	 */
+	public Counter getCounter(String name) {
+		return ConcurrencyUtils.computeIfAbsent(counters, name, COUNTER_PROVIDER);
+	}
+
+	/**
+	 * Gets the {@link Gauge} with the given name, creating it if it doesn't
+	 * exist.
+	 * @param name The name of the gauge.
+	 * @return The {@link Gauge}.
+	 */
+	public Gauge getGauge(String name) {
+		return ConcurrencyUtils.computeIfAbsent(gauges, name, GAUGE_PROVIDER);
+	}
+
+	/**
+	 * Gets the {@link Histogram} with the given name, creating it if it
+	 * doesn't exist.
+	 * @param name The name of the histogram.
+	 * @return The {@link Histogram}.
+	 */
+	public Histogram getHistogram(String name) {
+		return ConcurrencyUtils.computeIfAbsent(histograms, name, HISTOGRAM_PROVIDER);
+	}
+
+	/**
+	 * Removes the metric with the given name, of any type. Anything still
+	 * holding the metric may keep using it, but it will no longer be
+	 * included in snapshots.
+	 * @param name The name of the metric to remove.
+	 */
+	public void remove(String name) {
+		counters.remove(name);
+		gauges.remove(name);
+		histograms.remove(name);
+	}
+
+	/**
+	 * @return A snapshot of the current value of every metric.
+	 */
+	public MetricsSnapshot getSnapshot() {
+		TreeMap<String, Long> counterValues = new TreeMap<String, Long>();
+		for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+			counterValues.put(entry.getKey(), entry.getValue().getCount());
+		}
+
+		TreeMap<String, Long> gaugeValues = new TreeMap<String, Long>();
+		for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+			gaugeValues.put(entry.getKey(), entry.getValue().getValue());
+		}
+
+		TreeMap<String, HistogramSnapshot> histogramValues = new TreeMap<String, HistogramSnapshot>();
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			histogramValues.put(entry.getKey(), entry.getValue().getSnapshot());
+		}
+
+		return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, histogramValues);
+	}
+}
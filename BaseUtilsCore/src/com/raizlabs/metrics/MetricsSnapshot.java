@@ -0,0 +1,101 @@
+package com.raizlabs.metrics;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * An immutable view of every metric in a {@link MetricsRegistry} at a point
+ * in time. Rates may be computed by comparing the counters of two snapshots
+ * over the difference in their timestamps.
+ */
+public class MetricsSnapshot {
+
+	private final long timeMillis;
+	private final SortedMap<String, Long> counters;
+	private final SortedMap<String, Long> gauges;
+	private final SortedMap<String, HistogramSnapshot> histograms;
+
+	MetricsSnapshot(long timeMillis, SortedMap<String, Long> counters, SortedMap<String, Long> gauges,
+			SortedMap<String, HistogramSnapshot> histograms) {
+		this.timeMillis = timeMillis;
+		this.counters = Collections.unmodifiableSortedMap(counters);
+		this.gauges = Collections.unmodifiableSortedMap(gauges);
+		this.histograms = Collections.unmodifiableSortedMap(histograms);
+	}
+
+	/**
+	 * @return The time the snapshot was taken, as returned by
+	 * {@link System#currentTimeMillis()}.
+	 */
+	public long getTimeMillis() { return timeMillis; }
+
+	/**
+	 * @return The value of each counter, by name.
+	 */
+	public SortedMap<String, Long> getCounters() { return counters; }
+
+	/**
+	 * @return The value of each gauge, by name.
+	 */
+	public SortedMap<String, Long> getGauges() { return gauges; }
+
+	/**
+	 * @return The snapshot of each histogram, by name.
+	 */
+	public SortedMap<String, HistogramSnapshot> getHistograms() { return histograms; }
+
+	/**
+	 * Gets the value of the counter with the given name.
+	 * @param name The name of the counter.
+	 * @return The value of the counter, or zero if there is no such counter.
+	 */
+	public long getCounter(String name) {
+		Long value = counters.get(name);
+		return (value != null) ? value : 0;
+	}
+
+	/**
+	 * Writes every metric to the given {@link Appendable} as text, one value
+	 * per line, in the form "name value". Each histogram is written as
+	 * several values, named after the histogram, such as "name.p99".
+	 * @param out The {@link Appendable} to write to.
+	 * @throws IOException if the {@link Appendable} throws.
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		for (Map.Entry<String, Long> entry : counters.entrySet()) {
+			out.append(entry.getKey()).append(' ').append(String.valueOf(entry.getValue())).append('\n');
+		}
+		for (Map.Entry<String, Long> entry : gauges.entrySet()) {
+			out.append(entry.getKey()).append(' ').append(String.valueOf(entry.getValue())).append('\n');
+		}
+		for (Map.Entry<String, HistogramSnapshot> entry : histograms.entrySet()) {
+			final String name = entry.getKey();
+			final HistogramSnapshot histogram = entry.getValue();
+			writeValue(out, name + ".count", histogram.getCount());
+			writeValue(out, name + ".min", histogram.getMin());
+			out.append(name).append(".mean ").append(String.format(Locale.US, "%.1f", histogram.getMean())).append('\n');
+			writeValue(out, name + ".p50", histogram.getPercentile(50));
+			writeValue(out, name + ".p90", histogram.getPercentile(90));
+			writeValue(out, name + ".p99", histogram.getPercentile(99));
+			writeValue(out, name + ".max", histogram.getMax());
+		}
+	}
+
+	private static void writeValue(Appendable out, String name, long value) throws IOException {
+		out.append(name).append(' ').append(String.valueOf(value)).append('\n');
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		try {
+			writeTo(builder);
+		} catch (IOException e) {
+			// StringBuilder doesn't throw
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,105 @@
+package com.raizlabs.synchronization;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reusable version of a {@link OneShotLock}. A {@link Gate} blocks threads
+ * which wait on it while it is closed, and releases them when it is opened.
+ * Unlike a {@link OneShotLock}, it may be closed again via {@link #close()}.
+ * <br><br>
+ * A thread which is waiting when the gate is opened is always released, even
+ * if the gate is closed again before that thread gets to run.
+ */
+public class Gate {
+	private volatile boolean open;
+	/**
+	 * Incremented each time the gate is opened so that waiting threads can
+	 * tell that they were released, even if the gate has been closed since.
+	 */
+	private long openCount;
+
+	/**
+	 * Constructs a {@link Gate} which is initially closed.
+	 */
+	public Gate() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a {@link Gate}.
+	 * @param open True if the gate should initially be open.
+	 */
+	public Gate(boolean open) {
+		this.open = open;
+		this.openCount = 0;
+	}
+
+	/**
+	 * @return True if this gate is currently open.
+	 */
+	public boolean isOpen() { return open; }
+
+	/**
+	 * Opens this gate, releasing all waiting threads.
+	 */
+	public void open() {
+		synchronized (this) {
+			if (!open) {
+				open = true;
+				openCount++;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Closes this gate, so that threads which wait on it will block until it
+	 * is opened again.
+	 */
+	public void close() {
+		synchronized (this) {
+			open = false;
+		}
+	}
+
+	/**
+	 * Blocks until this gate is open, or until the calling thread is
+	 * interrupted. If the gate is already open, this returns immediately.
+	 * @throws InterruptedException if the calling thread is interrupted
+	 * while waiting.
+	 */
+	public void await() throws InterruptedException {
+		if (open) return;
+
+		synchronized (this) {
+			final long startCount = openCount;
+			while (!open && openCount == startCount) {
+				wait();
+			}
+		}
+	}
+
+	/**
+	 * Blocks until this gate is open, or until the given timeout elapses. If
+	 * the gate is already open, this returns immediately.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if the gate was opened, false if the timeout elapsed first.
+	 * @throws InterruptedException if the calling thread is interrupted
+	 * while waiting.
+	 */
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		if (open) return true;
+
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (this) {
+			final long startCount = openCount;
+			while (!open && openCount == startCount) {
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) return false;
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,189 @@
+package com.raizlabs.synchronization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class which is locked until {@link #unlock()} is called.
+ * Calling {@link #waitUntilUnlocked()} will block until this has
+ * happened. You may synchronize on this object to lock its state.
+ * <br><br>
+ * Instead of blocking a thread, {@link #runWhenUnlocked(Runnable)} may be
+ * used to run an action once this has happened.
+ * 
+ * @author Dylan James
+ *
+ */
+public class OneShotLock {
+	private volatile boolean unlocked;
+	/**
+	 * Callbacks waiting for this lock to be unlocked. Null once unlocked.
+	 */
+	private List<Callback> callbacks;
+	/**
+	 * @return True if {@link #unlock()} has been called
+	 */
+	public boolean isUnlocked() { return unlocked; }
+	
+	public OneShotLock() {
+		unlocked = false;
+	}
+	
+	/**
+	 * Unlocks this lock, running any actions which were waiting for it. If
+	 * any of these actions throw, the rest are still run and the first
+	 * exception is then rethrown.
+	 */
+	public void unlock() {
+		List<Callback> toRun;
+		synchronized (this) {
+			if (unlocked) return;
+			unlocked = true;
+			notifyAll();
+			toRun = callbacks;
+			callbacks = null;
+		}
+		
+		if (toRun != null) {
+			Throwable failure = null;
+			for (Callback callback : toRun) {
+				try {
+					callback.run();
+				} catch (RuntimeException e) {
+					if (failure == null) failure = e;
+				} catch (Error e) {
+					if (failure == null) failure = e;
+				}
+			}
+			
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			} else if (failure != null) {
+				throw (Error) failure;
+			}
+		}
+	}
+	
+	/**
+	 * Runs the given action once this lock is unlocked. If this has already
+	 * been unlocked, the action is run immediately, before this function
+	 * returns. Otherwise, it will be run on the thread which calls
+	 * {@link #unlock()}.
+	 * @param action The action to run.
+	 */
+	public void runWhenUnlocked(Runnable action) {
+		runWhenUnlocked(action, null);
+	}
+	
+	/**
+	 * Runs the given action on the given {@link Executor} once this lock is
+	 * unlocked. If this has already been unlocked, the action is submitted to
+	 * the {@link Executor} immediately.
+	 * @param action The action to run.
+	 * @param executor The {@link Executor} to run the action on, or null to
+	 * run it on the thread which unlocks this lock, or the calling thread if
+	 * it is already unlocked.
+	 */
+	public void runWhenUnlocked(Runnable action, Executor executor) {
+		final Callback callback = new Callback(action, executor);
+		if (!unlocked) {
+			synchronized (this) {
+				if (!unlocked) {
+					if (callbacks == null) callbacks = new ArrayList<Callback>();
+					callbacks.add(callback);
+					return;
+				}
+			}
+		}
+		callback.run();
+	}
+	
+	/**
+	 * Blocks until this {@link OneShotLock} is unlocked via a call
+	 * to {@link #unlock()}. If this has already been unlocked, it
+	 * will return immediately. Interrupts do not stop the wait, but
+	 * the thread's interrupted status will be restored before this
+	 * returns.
+	 * @see #waitUntilUnlockedInterruptibly()
+	 */
+	public void waitUntilUnlocked() {
+		if (unlocked) return;
+	
+		boolean interrupted = false;
+		synchronized (this) {
+			while (!unlocked) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+	
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Blocks until this {@link OneShotLock} is unlocked via a call
+	 * to {@link #unlock()}, or until the calling thread is interrupted.
+	 * If this has already been unlocked, it will return immediately.
+	 * @throws InterruptedException if the calling thread is interrupted
+	 * while waiting.
+	 */
+	public void waitUntilUnlockedInterruptibly() throws InterruptedException {
+		if (unlocked) return;
+	
+		synchronized (this) {
+			while (!unlocked) {
+				wait();
+			}
+		}
+	}
+	
+	/**
+	 * Blocks until this {@link OneShotLock} is unlocked via a call
+	 * to {@link #unlock()}, or until the given timeout elapses. If this
+	 * has already been unlocked, it will return immediately.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if this lock was unlocked, false if the timeout
+	 * elapsed first.
+	 * @throws InterruptedException if the calling thread is interrupted
+	 * while waiting.
+	 */
+	public boolean waitUntilUnlocked(long timeout, TimeUnit unit) throws InterruptedException {
+		if (unlocked) return true;
+	
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (this) {
+			while (!unlocked) {
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) return false;
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+		return true;
+	}
+	
+	private static class Callback {
+		final Runnable action;
+		final Executor executor;
+		
+		Callback(Runnable action, Executor executor) {
+			this.action = action;
+			this.executor = executor;
+		}
+		
+		void run() {
+			if (executor != null) {
+				executor.execute(action);
+			} else {
+				action.run();
+			}
+		}
+	}
+}
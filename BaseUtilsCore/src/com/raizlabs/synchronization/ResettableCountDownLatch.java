@@ -0,0 +1,131 @@
+package com.raizlabs.synchronization;
+
+import java.util.concurrent.TimeUnit;
+
+import com.raizlabs.events.Event;
+
+/**
+ * A count down latch which may be reset and reused. Threads which wait on it
+ * block until {@link #countDown()} has been called enough times for the count
+ * to reach zero, at which point they are released and the completed event is
+ * raised. Calling {@link #reset(int)} arms the latch again with a new count.
+ * <br><br>
+ * A thread which is waiting when the count reaches zero is always released,
+ * even if the latch is reset before that thread gets to run.
+ */
+public class ResettableCountDownLatch {
+	private volatile int count;
+	/**
+	 * Incremented each time the count reaches zero so that waiting threads
+	 * can tell that they were released, even if the latch has been reset
+	 * since.
+	 */
+	private long completionCount;
+	private final Event<ResettableCountDownLatch> completedEvent;
+
+	/**
+	 * Constructs a {@link ResettableCountDownLatch}.
+	 * @param count The number of times {@link #countDown()} must be called
+	 * before waiting threads are released.
+	 */
+	public ResettableCountDownLatch(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative");
+		}
+		this.count = count;
+		this.completionCount = 0;
+		this.completedEvent = new Event<ResettableCountDownLatch>();
+	}
+
+	/**
+	 * @return The {@link Event} which is raised each time the count reaches
+	 * zero. By default, listeners are called on the thread which made the
+	 * final call to {@link #countDown()}. Listeners which are added after the
+	 * count has reached zero are not called until it reaches zero again.
+	 */
+	public Event<ResettableCountDownLatch> getCompletedEvent() {
+		return completedEvent;
+	}
+
+	/**
+	 * @return The current count.
+	 */
+	public int getCount() { return count; }
+
+	/**
+	 * Decrements the count, releasing all waiting threads and raising the
+	 * completed event if it reaches zero. If the count is already zero, this
+	 * does nothing.
+	 */
+	public void countDown() {
+		synchronized (this) {
+			if (count == 0) return;
+			count--;
+			if (count > 0) return;
+			completionCount++;
+			notifyAll();
+		}
+		completedEvent.raiseEvent(this, this);
+	}
+
+	/**
+	 * Sets the count, arming this latch again. If the given count is zero,
+	 * waiting threads are released and the completed event is raised.
+	 * @param count The number of times {@link #countDown()} must be called
+	 * before waiting threads are released.
+	 */
+	public void reset(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative");
+		}
+		synchronized (this) {
+			this.count = count;
+			if (count > 0) return;
+			completionCount++;
+			notifyAll();
+		}
+		completedEvent.raiseEvent(this, this);
+	}
+
+	/**
+	 * Blocks until the count reaches zero, or until the calling thread is
+	 * interrupted. If the count is already zero, this returns immediately.
+	 * @throws InterruptedException if the calling thread is interrupted
+	 * while waiting.
+	 */
+	public void await() throws InterruptedException {
+		if (count == 0) return;
+
+		synchronized (this) {
+			final long startCount = completionCount;
+			while (count > 0 && completionCount == startCount) {
+				wait();
+			}
+		}
+	}
+
+	/**
+	 * Blocks until the count reaches zero, or until the given timeout
+	 * elapses. If the count is already zero, this returns immediately.
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of the timeout.
+	 * @return True if the count reached zero, false if the timeout elapsed
+	 * first.
+	 * @throws InterruptedException if the calling thread is interrupted
+	 * while waiting.
+	 */
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		if (count == 0) return true;
+
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (this) {
+			final long startCount = completionCount;
+			while (count > 0 && completionCount == startCount) {
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) return false;
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+		return true;
+	}
+}
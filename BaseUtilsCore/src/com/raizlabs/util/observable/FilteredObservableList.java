@@ -0,0 +1,259 @@
+package com.raizlabs.util.observable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.raizlabs.concurrent.ConcurrencyUtils;
+import com.raizlabs.concurrent.UIThread;
+import com.raizlabs.events.EventListener;
+import com.raizlabs.functions.Predicate;
+
+/**
+ * {@link ObservableList} which contains the items of a source
+ * {@link ObservableList} which pass a {@link Predicate}. The predicate is
+ * evaluated on a background {@link Executor} and the results are published
+ * to this list on the UI thread. The initial evaluation is published in
+ * batches as it progresses, raising the data changed event once per batch, so
+ * large lists start showing items quickly. Later evaluations build the full
+ * result first and swap it in at once, raising the event only if the contents
+ * actually changed.
+ * <br><br>
+ * Results are remembered for each item instance, so when the source list
+ * changes, only items which were not previously evaluated are run through
+ * the predicate again. Changing the predicate discards these results,
+ * cancels any evaluation in progress, and starts over.
+ * <br><br>
+ * This list should be treated as read only - modifications should be made
+ * to the source list. Call {@link #detach()} when this list is no longer
+ * needed to stop listening to the source.
+ *
+ * @param <T> The type of item that the list contains.
+ */
+public class FilteredObservableList<T> extends ObservableListAdapter<T> {
+
+	/**
+	 * The default number of matching items to publish in each batch of the
+	 * initial evaluation.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	private final ObservableList<T> source;
+	private final Executor executor;
+	private final int batchSize;
+	private volatile Predicate<T> predicate;
+
+	/**
+	 * Incremented each time a new evaluation is started. An evaluation stops
+	 * as soon as it sees that it is no longer the current generation.
+	 */
+	private final AtomicInteger generation;
+	/**
+	 * The results of the last completed evaluation.
+	 */
+	private volatile EvaluationResults<T> evaluatedItems;
+	/**
+	 * Set once the initial evaluation has published all of its batches. Later
+	 * evaluations publish their results all at once.
+	 */
+	private volatile boolean initialEvaluationComplete;
+
+	private final EventListener<ObservableList<T>> sourceChangedListener =
+			new EventListener<ObservableList<T>>() {
+				@Override
+				public void onEvent(Object sender, ObservableList<T> args) {
+					refilter();
+				}
+			};
+
+	/**
+	 * Constructs a {@link FilteredObservableList} which filters the given
+	 * source using the given {@link Predicate} on the shared
+	 * {@link ConcurrencyUtils#getComputationExecutor()}.
+	 * @param source The list to filter.
+	 * @param predicate The {@link Predicate} which items must pass, or null
+	 * to include all items.
+	 */
+	public FilteredObservableList(ObservableList<T> source, Predicate<T> predicate) {
+		this(source, predicate, ConcurrencyUtils.getComputationExecutor(), DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructs a {@link FilteredObservableList} which filters the given
+	 * source using the given {@link Predicate}.
+	 * @param source The list to filter.
+	 * @param predicate The {@link Predicate} which items must pass, or null
+	 * to include all items.
+	 * @param executor The {@link Executor} to evaluate the predicate on.
+	 * @param batchSize The number of matching items to publish in each batch
+	 * of the initial evaluation.
+	 */
+	public FilteredObservableList(ObservableList<T> source, Predicate<T> predicate,
+			Executor executor, int batchSize) {
+		super(new ArrayList<T>());
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1");
+		}
+
+		this.source = source;
+		this.executor = executor;
+		this.batchSize = batchSize;
+		this.predicate = predicate;
+		this.generation = new AtomicInteger();
+
+		source.getDataChangedEvent().addListener(sourceChangedListener);
+		refilter();
+	}
+
+	/**
+	 * @return The {@link ObservableList} being filtered.
+	 */
+	public ObservableList<T> getSource() {
+		return source;
+	}
+
+	/**
+	 * @return The {@link Predicate} currently being used to filter items.
+	 */
+	public Predicate<T> getPredicate() {
+		return predicate;
+	}
+
+	/**
+	 * Sets the {@link Predicate} used to filter items. This cancels any
+	 * evaluation in progress and re-evaluates every item in the source.
+	 * @param predicate The {@link Predicate} which items must pass, or null
+	 * to include all items.
+	 */
+	public void setPredicate(Predicate<T> predicate) {
+		this.predicate = predicate;
+		// Previous results don't apply to the new predicate
+		evaluatedItems = null;
+		refilter();
+	}
+
+	/**
+	 * Stops listening to the source list and cancels any evaluation in
+	 * progress. No further updates will be published to this list.
+	 */
+	public void detach() {
+		source.getDataChangedEvent().removeListener(sourceChangedListener);
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Re-evaluates the contents of the source list, cancelling any evaluation
+	 * in progress. Items which were already evaluated against the current
+	 * {@link Predicate} will not be evaluated again.
+	 */
+	public void refilter() {
+		final int passGeneration = generation.incrementAndGet();
+		final List<T> snapshot = new ArrayList<T>(source);
+		final Predicate<T> passPredicate = predicate;
+		final EvaluationResults<T> lastResults = evaluatedItems;
+		// Only reuse results which were evaluated against this predicate
+		final IdentityHashMap<T, Boolean> previousResults =
+				(lastResults != null && lastResults.predicate == passPredicate) ? lastResults.results : null;
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				evaluate(passGeneration, snapshot, passPredicate, previousResults);
+			}
+		});
+	}
+
+	private boolean isCurrent(int passGeneration) {
+		return generation.get() == passGeneration;
+	}
+
+	private void evaluate(int passGeneration, List<T> snapshot, Predicate<T> passPredicate,
+			IdentityHashMap<T, Boolean> previousResults) {
+		IdentityHashMap<T, Boolean> results = new IdentityHashMap<T, Boolean>(snapshot.size());
+		// Only the initial evaluation is published progressively. Afterwards,
+		// publishing in batches would shrink the list down to the first batch
+		// and regrow it, notifying once per batch
+		final boolean progressive = !initialEvaluationComplete;
+		List<T> batch = new ArrayList<T>(progressive ? batchSize : snapshot.size());
+		boolean isFirstBatch = true;
+
+		for (T item : snapshot) {
+			if (!isCurrent(passGeneration)) return;
+
+			Boolean matches = results.get(item);
+			if (matches == null && previousResults != null) {
+				matches = previousResults.get(item);
+			}
+			if (matches == null) {
+				matches = (passPredicate == null) || passPredicate.evaluate(item);
+			}
+			results.put(item, matches);
+
+			if (matches) {
+				batch.add(item);
+				if (progressive && batch.size() >= batchSize) {
+					publish(passGeneration, batch, isFirstBatch);
+					batch = new ArrayList<T>(batchSize);
+					isFirstBatch = false;
+				}
+			}
+		}
+
+		if (!isCurrent(passGeneration)) return;
+		// Always publish the first batch, even if empty, so that the
+		// previous contents get cleared
+		if (isFirstBatch || !batch.isEmpty()) {
+			publish(passGeneration, batch, isFirstBatch);
+		}
+		evaluatedItems = new EvaluationResults<T>(passPredicate, results);
+		initialEvaluationComplete = true;
+	}
+
+	private void publish(final int passGeneration, final List<T> batch, final boolean replace) {
+		UIThread.run(new Runnable() {
+			@Override
+			public void run() {
+				if (!isCurrent(passGeneration)) return;
+				// Don't notify if nothing actually changed
+				if (replace && isSameContents(batch)) return;
+
+				beginTransaction();
+				if (replace) {
+					underlyingList.clear();
+					modified = true;
+				}
+				if (!batch.isEmpty()) {
+					underlyingList.addAll(batch);
+					modified = true;
+				}
+				endTransaction();
+			}
+		});
+	}
+
+	private boolean isSameContents(List<T> items) {
+		final int size = items.size();
+		if (underlyingList.size() != size) return false;
+		for (int i = 0; i < size; i++) {
+			if (underlyingList.get(i) != items.get(i)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The results of an evaluation, keyed by item identity, along with the
+	 * {@link Predicate} they were evaluated against. The map is never
+	 * modified once it is published.
+	 */
+	private static class EvaluationResults<T> {
+		final Predicate<T> predicate;
+		final IdentityHashMap<T, Boolean> results;
+
+		EvaluationResults(Predicate<T> predicate, IdentityHashMap<T, Boolean> results) {
+			this.predicate = predicate;
+			this.results = results;
+		}
+	}
+}
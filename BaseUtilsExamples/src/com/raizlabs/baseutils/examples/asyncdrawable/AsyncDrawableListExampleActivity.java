@@ -3,8 +3,6 @@ package com.raizlabs.baseutils.examples.asyncdrawable;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import android.app.Activity;
 import android.content.Context;
@@ -19,6 +17,7 @@ import android.widget.ListView;
 import android.widget.TextView;
 
 import com.raizlabs.baseutils.examples.R;
+import com.raizlabs.concurrent.WorkloadExecutor;
 import com.raizlabs.graphics.drawable.async.AsyncDrawableTask;
 import com.raizlabs.graphics.drawable.async.AsyncDrawableUtils;
 import com.raizlabs.graphics.drawable.async.BaseAsyncDrawableTask;
@@ -47,8 +46,9 @@ public class AsyncDrawableListExampleActivity extends Activity {
 		adapter.loadItemList(items);
 	}	
 	
-	// Pool to run our background execution/fetching
-	ExecutorService threadPool = Executors.newFixedThreadPool(5);
+	// Pool to run our background execution/fetching. Our work just waits, so
+	// it runs on the I/O pool, which sizes itself to keep up with the list
+	WorkloadExecutor threadPool = new WorkloadExecutor();
 	
 	/**
 	 * Adapter implementation which binds rows to a DelayedDrawable as declared below
@@ -67,7 +67,7 @@ public class AsyncDrawableListExampleActivity extends Activity {
 			final DelayedDrawable drawable = new DelayedDrawable(imgView, item, 2000);
 			// If there is work to do, execute the task on our thread pool
 			if (drawable.bind()) {
-				threadPool.execute(new Runnable() {
+				threadPool.executeIO(new Runnable() {
 					@Override
 					public void run() {
 						drawable.execute();